@@ -1,14 +1,18 @@
 package com.orchid.orchidbe.apis;
 
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.orchid.orchidbe.apis.ApiResponse.Error;
 import com.orchid.orchidbe.apis.ApiResponse.Success;
 import com.orchid.orchidbe.apis.ApiResponse.ValidationError;
+import com.orchid.orchidbe.dto.FieldSelection;
 
 import java.time.Instant;
 import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 
 public sealed interface ApiResponse<T>
         permits Error, Success, ValidationError {
@@ -87,6 +91,16 @@ public sealed interface ApiResponse<T>
                 200, "Success", data, Instant.now()));
     }
 
+    static <T> ResponseEntity<MappingJacksonValue> success(T data, FieldSelection fields) {
+        MappingJacksonValue body = new MappingJacksonValue(new Success<>(
+                200, "Success", data, Instant.now()));
+        if (!fields.isAll()) {
+            body.setFilters(new SimpleFilterProvider().addFilter(
+                    FieldSelection.FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields.names())));
+        }
+        return ResponseEntity.ok(body);
+    }
+
     static <T> ResponseEntity<ApiResponse<T>> created(T data) {
         return ResponseEntity.status(HttpStatus.CREATED).body(new Success<>(
                 201, "Created successfully", data, Instant.now()));
@@ -0,0 +1,190 @@
+package com.orchid.orchidbe.configs;
+
+import com.orchid.orchidbe.pojos.IdempotencyRecord;
+import com.orchid.orchidbe.services.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final Duration IN_FLIGHT_WAIT = Duration.ofSeconds(30);
+
+    IdempotencyStore idempotencyStore;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return !path.equals("/orders") && !path.startsWith("/orders/pay/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    @NotNull HttpServletResponse response,
+                                    @NotNull FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > 255) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.getWriter().write("Invalid Idempotency-Key header");
+            return;
+        }
+
+        String key = scopeOf(request) + ":" + idempotencyKey;
+        byte[] requestBody = request.getInputStream().readAllBytes();
+        String requestHash = hashOf(requestBody);
+
+        IdempotencyRecord existing = idempotencyStore.claim(key, requestHash).orElse(null);
+        if (existing != null) {
+            if (existing.getRequestHash() != null && !existing.getRequestHash().equals(requestHash)) {
+                response.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+                response.getWriter().write("Idempotency-Key was already used with a different request body");
+                return;
+            }
+            IdempotencyRecord record = existing.isCompleted() ? existing : await(key);
+            if (record == null) {
+                response.setStatus(HttpServletResponse.SC_CONFLICT);
+                response.getWriter().write("A request with this Idempotency-Key did not complete");
+                return;
+            }
+            replay(record, response);
+            return;
+        }
+
+        boolean completed = false;
+        try {
+            ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(new CachedBodyRequest(request, requestBody), responseWrapper);
+
+            if (responseWrapper.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+                idempotencyStore.complete(new IdempotencyRecord(
+                        key,
+                        requestHash,
+                        responseWrapper.getStatus(),
+                        responseWrapper.getContentType(),
+                        responseWrapper.getContentAsByteArray(),
+                        Instant.now()));
+                completed = true;
+            }
+            responseWrapper.copyBodyToResponse();
+        } finally {
+            if (!completed) {
+                idempotencyStore.release(key);
+            }
+        }
+    }
+
+    private String scopeOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String principal = authentication == null ? "anonymous" : authentication.getName();
+        return principal + ":" + request.getMethod() + ":" + request.getServletPath();
+    }
+
+    private IdempotencyRecord await(String key) {
+        try {
+            return idempotencyStore.await(key, IN_FLIGHT_WAIT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private String hashOf(byte[] requestBody) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(requestBody);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        response.setStatus(record.getStatus());
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        response.setHeader("Idempotent-Replayed", "true");
+        response.getOutputStream().write(record.getBody());
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte @NotNull [] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), charsetOf(getCharacterEncoding())));
+        }
+
+        private static Charset charsetOf(String encoding) {
+            return encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.orchid.orchidbe.configs;
 
-
+import com.orchid.orchidbe.services.AccountCache;
+import com.orchid.orchidbe.services.RevocationList;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,7 +10,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -31,6 +34,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     JwtUtil jwtUtil;
     UserDetailsService userDetailsService;
+    AccountCache accountCache;
+    RevocationList revocationList;
+
+    @NonFinal
+    @Value("${security.principal.from-claims:true}")
+    boolean principalFromClaims;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -45,23 +54,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String jwt = authHeader.substring(7);
 
-        if (!jwtUtil.validateToken(jwt)) {
+        JwtUtil.TokenClaims claims;
+        try {
+            claims = jwtUtil.verify(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.getWriter().write("Invalid JWT token");
+            return;
+        }
+
+        if (claims.refresh() || revocationList.isRevoked(claims.tokenId())) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("Invalid JWT token");
             return;
         }
 
-        String username = jwtUtil.getUsernameFromToken(jwt);
+        String username = claims.username();
 
         if (username == null) {
             throw new JwtException("Email not found in JWT");
         }
 
         if (SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = resolvePrincipal(claims);
+            if (userDetails == null) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.getWriter().write("Invalid JWT token");
+                return;
+            }
 
-            List<String> roles = jwtUtil.getRolesFromToken(jwt);
-            List<GrantedAuthority> authorities = roles.stream()
+            List<GrantedAuthority> authorities = claims.roles().stream()
                     .map(role -> new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
                     .collect(Collectors.toList());
             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -73,4 +95,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolvePrincipal(JwtUtil.TokenClaims claims) {
+        if (!principalFromClaims || claims.accountId() == null) {
+            return userDetailsService.loadUserByUsername(claims.username());
+        }
+        return accountCache.findAccount(claims.accountId())
+                .filter(account -> claims.username().equals(account.getEmail()))
+                .orElse(null);
+    }
 }
\ No newline at end of file
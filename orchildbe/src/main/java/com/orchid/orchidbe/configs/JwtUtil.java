@@ -1,7 +1,11 @@
 package com.orchid.orchidbe.configs;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.orchid.orchidbe.pojos.Account;
-import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -13,67 +17,128 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class JwtUtil {
+    private static final String TOKEN_TYPE_CLAIM = "typ";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
+
     @Value("${jwt.secret}")
     String secret;
 
     @Value("${jwt.expiration}")
     Long expirationTime;
 
+    @Value("${jwt.refresh-expiration:2592000000}")
+    Long refreshExpirationTime;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    long verifiedCacheSize;
+
+    @Value("${jwt.verified-cache.ttl:PT5M}")
+    Duration verifiedCacheTtl;
+
     SecretKey key;
 
+    JwtParser parser;
+
+    Cache<String, TokenClaims> verifiedTokens;
+
     @PostConstruct
     public void initializeKey() {
         key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.creating((String tokenHash, TokenClaims claims) -> remainingLifetime(claims)))
+                .build();
     }
 
     public String generateToken(Account account) {
-        Map<String, List<String>> claims = new HashMap<>();
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("id", account.getId());
         claims.put("authorities", List.of(account.getRole().getName()));
 
+        return sign(claims, account.getUsername(), expirationTime);
+    }
+
+    public String generateRefreshToken(Account account) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("id", account.getId());
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+
+        return sign(claims, account.getUsername(), refreshExpirationTime);
+    }
+
+    private String sign(Map<String, Object> claims, String subject, long lifetimeMillis) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
-                .setSubject(account.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
+                .setId(UUID.randomUUID().toString())
+                .setSubject(subject)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + lifetimeMillis))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    public TokenClaims verify(String token) {
+        String tokenHash = hash(token);
+        TokenClaims cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        List<?> authorities = claims.get("authorities", List.class);
+        TokenClaims verified = new TokenClaims(
+                claims.get("id", String.class),
+                claims.getSubject(),
+                authorities == null ? List.of() : authorities.stream().map(String::valueOf).toList(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant(),
+                claims.getId(),
+                REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class)));
+
+        verifiedTokens.put(tokenHash, verified);
+        return verified;
     }
 
-    public List<String> getRolesFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("authorities", List.class);
+    private Duration remainingLifetime(TokenClaims claims) {
+        if (claims.expiresAt() == null) {
+            return verifiedCacheTtl;
+        }
+        Duration remaining = Duration.between(Instant.now(), claims.expiresAt());
+        return remaining.compareTo(verifiedCacheTtl) < 0 ? remaining : verifiedCacheTtl;
     }
 
-    public boolean validateToken(String token) {
+    private static String hash(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
+
+    public record TokenClaims(
+            String accountId,
+            String username,
+            List<String> roles,
+            Instant expiresAt,
+            String tokenId,
+            boolean refresh) {
+    }
 }
@@ -0,0 +1,75 @@
+package com.orchid.orchidbe.configs;
+
+import com.orchid.orchidbe.services.RateLimiter;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+    RateLimiter rateLimiter;
+    JwtUtil jwtUtil;
+    Counter rejected;
+
+    public RateLimitFilter(RateLimiter rateLimiter, JwtUtil jwtUtil, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.jwtUtil = jwtUtil;
+        this.rejected = Counter.builder("rate_limit.rejected")
+                .description("Requests rejected by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    @NotNull HttpServletResponse response,
+                                    @NotNull FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getServletPath();
+        String ip = request.getRemoteAddr();
+
+        long retryAfter;
+        if (path.equals("/accounts/login") || path.equals("/accounts/register")) {
+            retryAfter = rateLimiter.tryAcquire(RateLimiter.Scope.LOGIN_IP, ip);
+        } else {
+            retryAfter = rateLimiter.tryAcquire(RateLimiter.Scope.API_IP, ip);
+            if (retryAfter == 0) {
+                retryAfter = rateLimiter.tryAcquire(RateLimiter.Scope.API_ACCOUNT, accountIdOf(request));
+            }
+        }
+
+        if (retryAfter > 0) {
+            rejected.increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimiter.retryAfterSeconds(retryAfter)));
+            response.getWriter().write("Too many requests, please retry later");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String accountIdOf(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return jwtUtil.verify(authHeader.substring(7)).accountId();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -2,9 +2,9 @@ package com.orchid.orchidbe.controllers;
 
 import com.orchid.orchidbe.apis.ApiResponse;
 import com.orchid.orchidbe.dto.AccountDto;
+import com.orchid.orchidbe.dto.FieldSelection;
 import com.orchid.orchidbe.services.AccountService;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -14,6 +14,7 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
@@ -28,8 +29,9 @@ public class AccountController {
     AccountService accountService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<AccountDto.AccountResponse>>> getAccounts() {
-        return ApiResponse.success(accountService.findAll());
+    public ResponseEntity<MappingJacksonValue> getAccounts(@RequestParam(required = false) String fields) {
+        FieldSelection fieldSelection = FieldSelection.parse(fields, AccountDto.RESPONSE_FIELDS);
+        return ApiResponse.success(accountService.findAll(fieldSelection), fieldSelection);
     }
 
     @PostMapping("/login")
@@ -39,6 +41,19 @@ public class AccountController {
         return ApiResponse.success(loginResponse);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<AccountDto.LoginResponse>> refresh(
+            @Valid @RequestBody AccountDto.RefreshRequest refreshRequest) {
+        return ApiResponse.success(accountService.refresh(refreshRequest.refreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Object>> logout(
+            @RequestBody(required = false) AccountDto.LogoutRequest logoutRequest) {
+        accountService.logout(logoutRequest == null ? null : logoutRequest.refreshToken());
+        return ApiResponse.noContent();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<AccountDto.AccountResponse>> getAccountById(@PathVariable String id) {
         AccountDto.AccountResponse accountResponse = accountService.findById(id);
@@ -1,17 +1,23 @@
 package com.orchid.orchidbe.controllers;
 
 import com.orchid.orchidbe.apis.ApiResponse;
+import com.orchid.orchidbe.dto.FieldSelection;
 import com.orchid.orchidbe.dto.OrchidDto;
 import com.orchid.orchidbe.services.OrchidService;
 import jakarta.validation.Valid;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,16 +29,59 @@ import java.util.stream.Collectors;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class OrchidController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     OrchidService orchidService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<OrchidDto.OrchidResponse>>> findAllOrchids() {
-        return ApiResponse.success(orchidService.findAll());
+    public ResponseEntity<MappingJacksonValue> findAllOrchids(@RequestParam(required = false) String fields) {
+        FieldSelection fieldSelection = FieldSelection.parse(fields, OrchidDto.RESPONSE_FIELDS);
+        return ApiResponse.success(orchidService.findAll(fieldSelection), fieldSelection);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse<OrchidDto.OrchidBatch>> findOrchidsById(@RequestParam List<String> ids) {
+        return ApiResponse.success(orchidService.findAllById(ids));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<OrchidDto.OrchidBatch>> findOrchidsByIdBatch(
+            @Valid @RequestBody OrchidDto.OrchidBatchRequest batchRequest) {
+        return ApiResponse.success(orchidService.findAllById(batchRequest.ids()));
     }
 
     @GetMapping("/available")
-    public ResponseEntity<ApiResponse<List<OrchidDto.OrchidResponse>>> findAllOrchidsAvailable() {
-        return ApiResponse.success(orchidService.findAllAvailable());
+    public ResponseEntity<MappingJacksonValue> findAllOrchidsAvailable(
+            OrchidDto.OrchidSearchRequest searchRequest,
+            @RequestParam(required = false) String fields) {
+        FieldSelection fieldSelection = FieldSelection.parse(fields, OrchidDto.RESPONSE_FIELDS);
+        return ApiResponse.success(orchidService.findAllAvailable(searchRequest, fieldSelection), fieldSelection);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<MappingJacksonValue> searchOrchids(
+            @RequestParam String q,
+            OrchidDto.OrchidSearchRequest searchRequest,
+            @RequestParam(required = false) String fields) {
+        FieldSelection fieldSelection = FieldSelection.parse(fields, OrchidDto.RESPONSE_FIELDS);
+        return ApiResponse.success(orchidService.search(q, searchRequest, fieldSelection), fieldSelection);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<OrchidDto.OrchidSuggestion>>> suggestOrchids(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ApiResponse.success(orchidService.suggest(prefix, limit));
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ApiResponse<OrchidDto.ImportResult>> importOrchids(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        OrchidDto.ImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV)
+                ? OrchidDto.ImportFormat.CSV
+                : OrchidDto.ImportFormat.NDJSON;
+        return ApiResponse.success(orchidService.importOrchids(body, format));
     }
 
     @GetMapping("/{id}")
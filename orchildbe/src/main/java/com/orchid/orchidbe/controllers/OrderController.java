@@ -1,6 +1,8 @@
 package com.orchid.orchidbe.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.orchid.orchidbe.apis.ApiResponse;
+import com.orchid.orchidbe.dto.FieldSelection;
 import com.orchid.orchidbe.dto.OrderDto;
 import com.orchid.orchidbe.dto.OrderDto.OrderResponse;
 import com.orchid.orchidbe.services.OrderService;
@@ -8,11 +10,17 @@ import jakarta.validation.Valid;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/orders")
@@ -21,10 +29,43 @@ import java.util.List;
 public class OrderController {
 
     OrderService orderService;
+    ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> findAllOrders() {
-        return ApiResponse.success(orderService.findAll());
+    public ResponseEntity<MappingJacksonValue> findAllOrders(
+            OrderDto.OrderPageRequest pageRequest,
+            @RequestParam(required = false) String fields) {
+        FieldSelection fieldSelection = FieldSelection.parse(fields, OrderDto.RESPONSE_FIELDS);
+        return ApiResponse.success(orderService.findAll(pageRequest, fieldSelection), fieldSelection);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            OrderDto.OrderPageRequest filter,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            try (Stream<OrderResponse> orders = orderService.export(filter)) {
+                Iterator<OrderResponse> iterator = orders.iterator();
+                while (iterator.hasNext()) {
+                    out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    out.write('\n');
+                }
+            }
+            if (out instanceof GZIPOutputStream gzipOutputStream) {
+                gzipOutputStream.finish();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.ndjson\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @GetMapping("/{id}")
@@ -58,7 +99,10 @@ public class OrderController {
     }
 
     @GetMapping("/user")
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> findOrdersByUser() {
-        return ApiResponse.success(orderService.findByAccount());
+    public ResponseEntity<MappingJacksonValue> findOrdersByUser(
+            OrderDto.OrderPageRequest pageRequest,
+            @RequestParam(required = false) String fields) {
+        FieldSelection fieldSelection = FieldSelection.parse(fields, OrderDto.RESPONSE_FIELDS);
+        return ApiResponse.success(orderService.findByAccount(pageRequest, fieldSelection), fieldSelection);
     }
 }
\ No newline at end of file
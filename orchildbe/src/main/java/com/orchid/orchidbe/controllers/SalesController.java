@@ -0,0 +1,48 @@
+package com.orchid.orchidbe.controllers;
+
+import com.orchid.orchidbe.apis.ApiResponse;
+import com.orchid.orchidbe.dto.SalesDto;
+import com.orchid.orchidbe.services.OrderService;
+import com.orchid.orchidbe.services.SalesRollupService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/sales")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SalesController {
+
+    SalesRollupService salesRollupService;
+    OrderService orderService;
+
+    @GetMapping("/report")
+    public ResponseEntity<ApiResponse<SalesDto.SalesReport>> findSalesReport(SalesDto.SalesReportRequest reportRequest) {
+        return ApiResponse.success(orderService.report(reportRequest));
+    }
+
+    @GetMapping("/daily")
+    public ResponseEntity<ApiResponse<List<SalesDto.SalesTotal>>> findDailyTotals(SalesDto.SalesRangeRequest range) {
+        return ApiResponse.success(salesRollupService.totalsByDay(range));
+    }
+
+    @GetMapping("/orchids")
+    public ResponseEntity<ApiResponse<List<SalesDto.SalesTotal>>> findOrchidTotals(SalesDto.SalesRangeRequest range) {
+        return ApiResponse.success(salesRollupService.totalsByOrchid(range));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<ApiResponse<List<SalesDto.SalesTotal>>> findCategoryTotals(SalesDto.SalesRangeRequest range) {
+        return ApiResponse.success(salesRollupService.totalsByCategory(range));
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponse<Long>> rebuildRollups() {
+        return ApiResponse.updated(salesRollupService.rebuild());
+    }
+}
@@ -1,11 +1,15 @@
 package com.orchid.orchidbe.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.orchid.orchidbe.pojos.Role;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.Set;
+
 public class AccountDto {
+    public static final Set<String> RESPONSE_FIELDS = Set.of("id", "name", "email", "role");
 
     public record AccountRequest(
             @NotBlank String name,
@@ -25,6 +29,7 @@ public class AccountDto {
             @NotBlank String password) {
     }
 
+    @JsonFilter(FieldSelection.FILTER_ID)
     public record AccountResponse(
             String id,
             String name,
@@ -34,6 +39,15 @@ public class AccountDto {
 
     public record LoginResponse(
        String token,
-       AccountResponse accountData) {
+       AccountResponse accountData,
+       String refreshToken) {
+    }
+
+    public record RefreshRequest(
+            @NotBlank String refreshToken) {
+    }
+
+    public record LogoutRequest(
+            String refreshToken) {
     }
 }
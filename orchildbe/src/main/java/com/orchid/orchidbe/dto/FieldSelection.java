@@ -0,0 +1,36 @@
+package com.orchid.orchidbe.dto;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public record FieldSelection(Set<String> names) {
+    public static final String FILTER_ID = "fields";
+    public static final FieldSelection ALL = new FieldSelection(Set.of());
+
+    public static FieldSelection parse(String fields, Set<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        Set<String> names = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.strip();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            names.add(name);
+        }
+        return names.isEmpty() ? ALL : new FieldSelection(Set.copyOf(names));
+    }
+
+    public boolean isAll() {
+        return names.isEmpty();
+    }
+
+    public boolean includes(String name) {
+        return names.isEmpty() || names.contains(name);
+    }
+}
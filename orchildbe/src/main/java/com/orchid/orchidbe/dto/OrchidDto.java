@@ -1,12 +1,22 @@
 package com.orchid.orchidbe.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.orchid.orchidbe.pojos.Category;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
 public class OrchidDto {
+    public static final Set<String> RESPONSE_FIELDS = Set.of(
+            "id", "isNatural", "description", "name", "url", "price", "isAvailable", "stockQuantity", "category");
 
     public record OrchidRequest(
             @NotNull(message = "Natural status cannot be null")
@@ -28,9 +38,13 @@ public class OrchidDto {
             double price,
 
             @NotNull(message = "Category cannot be null")
-            String categoryId) {
+            String categoryId,
+
+            @PositiveOrZero(message = "Stock quantity cannot be negative")
+            Integer stockQuantity) {
     }
 
+    @JsonFilter(FieldSelection.FILTER_ID)
     public record OrchidResponse(
             String id,
             boolean isNatural,
@@ -39,6 +53,94 @@ public class OrchidDto {
             String url,
             double price,
             boolean isAvailable,
+            Integer stockQuantity,
             Category category) {
     }
-}
\ No newline at end of file
+
+    public record OrchidSearchRequest(
+            String categoryId,
+            Boolean natural,
+            Double minPrice,
+            Double maxPrice,
+            Integer page,
+            Integer size,
+            String cursor) {
+
+        public int pageNumber() {
+            return page == null ? 0 : Math.max(page, 0);
+        }
+
+        public int limit() {
+            return size == null ? 20 : Math.clamp(size, 1, 100);
+        }
+    }
+
+    public record OrchidPage(
+            List<OrchidResponse> orchids,
+            int page,
+            int size,
+            long total,
+            List<FacetCount> categories,
+            List<FacetCount> natural,
+            String nextCursor) {
+    }
+
+    public record OrchidCursor(
+            double price,
+            String id) {
+
+        public String encode() {
+            String raw = price + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static OrchidCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new OrchidCursor(Double.parseDouble(raw.substring(0, separator)), raw.substring(separator + 1));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+    }
+
+    public record FacetCount(
+            String value,
+            long count) {
+    }
+
+    public record OrchidSuggestion(
+            String id,
+            String name) {
+    }
+
+    public record OrchidBatchRequest(
+            @NotEmpty(message = "Ids cannot be empty")
+            @Size(max = 500, message = "Cannot request more than 500 orchids at once")
+            List<@NotBlank String> ids) {
+    }
+
+    public record OrchidBatch(
+            List<OrchidResponse> orchids,
+            List<String> missingIds) {
+    }
+
+    public enum ImportFormat {
+        CSV,
+        NDJSON
+    }
+
+    public record ImportError(
+            long row,
+            String message) {
+    }
+
+    public record ImportResult(
+            long rows,
+            long inserted,
+            long updated,
+            long failed,
+            List<ImportError> errors) {
+    }
+}
@@ -1,13 +1,21 @@
 package com.orchid.orchidbe.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.orchid.orchidbe.pojos.Order.OrderStatus;
 import jakarta.validation.constraints.*;
 import jakarta.validation.constraints.Positive;
+import org.springframework.format.annotation.DateTimeFormat;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Set;
 
 public class OrderDto {
+    public static final Set<String> RESPONSE_FIELDS = Set.of(
+            "id", "totalAmount", "orderDate", "orderStatus", "accountId", "orderDetails");
 
     public record OrderRequest(
             @NotNull(message = "Order details cannot be null")
@@ -15,6 +23,7 @@ public class OrderDto {
             List<OrderDetailDto.OrderDetail> orderDetails) {
     }
 
+    @JsonFilter(FieldSelection.FILTER_ID)
     public record OrderResponse(
             String id,
             double totalAmount,
@@ -23,4 +32,43 @@ public class OrderDto {
             String accountId,
             List<OrderDetailDto.OrderDetailResponse> orderDetails) {
     }
+
+    public record OrderPageRequest(
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime to,
+            OrderStatus status,
+            String cursor,
+            Integer size) {
+
+        public int limit() {
+            return size == null ? 20 : Math.clamp(size, 1, 100);
+        }
+    }
+
+    public record OrderPage(
+            List<OrderResponse> orders,
+            String nextCursor) {
+    }
+
+    public record OrderCursor(
+            LocalDateTime orderDate,
+            String id) {
+
+        public String encode() {
+            String raw = orderDate + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static OrderCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+    }
 }
@@ -0,0 +1,63 @@
+package com.orchid.orchidbe.dto;
+
+import com.orchid.orchidbe.pojos.Order.OrderStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class SalesDto {
+
+    public record SalesRangeRequest(
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to) {
+    }
+
+    public record SalesTotal(
+            String key,
+            long units,
+            double revenue,
+            long orderCount) {
+    }
+
+    public record SalesReportRequest(
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to,
+            Integer top) {
+
+        public int topLimit() {
+            return top == null ? 10 : Math.clamp(top, 1, 100);
+        }
+    }
+
+    public record SalesReport(
+            List<OrchidSales> topOrchids,
+            List<SalesTotal> revenueByCategory,
+            List<StatusTotal> statusBreakdown,
+            BasketSize basketSize) {
+    }
+
+    public record OrchidSales(
+            String orchidId,
+            String orchidName,
+            long units,
+            double revenue,
+            long orderCount) {
+    }
+
+    public record StatusTotal(
+            OrderStatus status,
+            long orderCount,
+            double amount) {
+    }
+
+    public record BasketSize(
+            long orderCount,
+            double averageAmount,
+            double averageUnits) {
+    }
+}
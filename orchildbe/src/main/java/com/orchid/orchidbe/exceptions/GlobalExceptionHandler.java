@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 
 @Slf4j
 @RestControllerAdvice
@@ -45,6 +46,18 @@ public class GlobalExceptionHandler {
                 "Invalid jwt token",
                 e.getMessage());
     }
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ApiResponse<Object>> handleResponseStatusException(ResponseStatusException e) {
+        log.warn("ResponseStatusException: {}", e.getMessage());
+        ResponseEntity<ApiResponse<Object>> error = ApiResponse.error(
+                HttpStatus.valueOf(e.getStatusCode().value()),
+                e.getReason(),
+                e.getMessage());
+        return ResponseEntity.status(error.getStatusCode())
+                .headers(e.getHeaders())
+                .body(error.getBody());
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ApiResponse<Object>> handleAccessDenied(AccessDeniedException ex) {
         log.error("AccessDeniedException: ", ex);
@@ -1,6 +1,7 @@
 package com.orchid.orchidbe.mappers;
 
 import com.orchid.orchidbe.dto.OrchidDto;
+import com.orchid.orchidbe.pojos.Category;
 import com.orchid.orchidbe.pojos.Orchid;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -10,4 +11,6 @@ public interface OrchidMapper {
     @Mapping(source = "available", target = "isAvailable")
     @Mapping(source = "natural", target = "isNatural")
     OrchidDto.OrchidResponse toOrchidResponse(Orchid orchid);
+
+    Category toCategory(Category category);
 }
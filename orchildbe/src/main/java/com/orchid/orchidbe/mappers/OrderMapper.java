@@ -11,14 +11,22 @@ import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface OrderMapper {
-    @Mapping(source = "orchid.id", target = "orchidId")
-    @Mapping(source = "order.id", target = "orderId")
     OrderDetailDto.OrderDetailResponse toOrderDetailResponse(OrderDetail orderDetail);
 
     List<OrderDetailDto.OrderDetailResponse> toOrderDetailResponseList(List<OrderDetail> orderDetails);
 
-    @Mapping(source = "order.account.id", target = "accountId")
+    @Mapping(source = "order.accountId", target = "accountId")
     OrderDto.OrderResponse toOrderResponse(Order order, List<OrderDetail> orderDetails);
 
+    @Mapping(target = "orderDetails", expression = "java(toOrderLineResponseList(order))")
+    OrderDto.OrderResponse toOrderResponse(Order order);
+
+    default List<OrderDetailDto.OrderDetailResponse> toOrderLineResponseList(Order order) {
+        return order.getOrderLines()
+                .stream()
+                .map(line -> new OrderDetailDto.OrderDetailResponse(
+                        line.getId(), order.getId(), line.getOrchidId(), line.getQuantity(), line.getPrice()))
+                .toList();
+    }
 
 }
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.convert.LazyLoadingProxy;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DocumentReference;
 import org.springframework.security.core.GrantedAuthority;
@@ -31,9 +32,16 @@ public class Account implements UserDetails {
 
     String password;
 
-    @DocumentReference
+    @DocumentReference(lazy = true)
     Role role;
 
+    public String getRoleId() {
+        if (role instanceof LazyLoadingProxy proxy) {
+            return String.valueOf(proxy.getSource());
+        }
+        return role == null ? null : role.getId();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(role.getName()));
@@ -0,0 +1,37 @@
+package com.orchid.orchidbe.pojos;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document(collection = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class IdempotencyRecord {
+    @Id
+    String id;
+
+    String requestHash;
+
+    int status;
+
+    String contentType;
+
+    byte[] body;
+
+    @Indexed(expireAfter = "24h")
+    Instant createdAt;
+
+    public boolean isCompleted() {
+        return status != 0;
+    }
+}
@@ -1,13 +1,24 @@
 package com.orchid.orchidbe.pojos;
 
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.convert.LazyLoadingProxy;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DocumentReference;
 
 @Document(collection = "orchids")
+@CompoundIndex(name = "available_price_id", def = "{'price': 1, '_id': 1}",
+        partialFilter = "{'isAvailable': true}")
+@CompoundIndex(name = "available_category_price_id", def = "{'category': 1, 'price': 1, '_id': 1}",
+        partialFilter = "{'isAvailable': true}")
+@CompoundIndex(name = "available_natural_price_id", def = "{'isNatural': 1, 'price': 1, '_id': 1}",
+        partialFilter = "{'isAvailable': true}")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,8 +29,11 @@ public class Orchid {
 
     boolean isNatural;
 
+    @TextIndexed
     String description;
 
+    @Indexed(unique = true)
+    @TextIndexed(weight = 3)
     String name;
 
     String url;
@@ -29,6 +43,16 @@ public class Orchid {
 
     boolean isAvailable;
 
-    @DocumentReference
+    @PositiveOrZero
+    Integer stockQuantity;
+
+    @DocumentReference(lazy = true)
     Category category;
+
+    public String getCategoryId() {
+        if (category instanceof LazyLoadingProxy proxy) {
+            return String.valueOf(proxy.getSource());
+        }
+        return category == null ? null : category.getId();
+    }
 }
@@ -7,12 +7,18 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.convert.LazyLoadingProxy;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DocumentReference;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Document(collection = "orders")
+@CompoundIndex(name = "account_orderDate_id", def = "{'account': 1, 'orderDate': -1, '_id': -1}")
+@CompoundIndex(name = "orderDate_id", def = "{'orderDate': -1, '_id': -1}")
+@CompoundIndex(name = "orderStatus_reservationExpiresAt", def = "{'orderStatus': 1, 'reservationExpiresAt': 1}")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,9 +35,24 @@ public class Order {
 
     OrderStatus orderStatus;
 
-    @DocumentReference
+    @DocumentReference(lazy = true)
     Account account;
 
+    List<OrderLine> orderLines;
+
+    LocalDateTime reservationExpiresAt;
+
+    public String getAccountId() {
+        if (account instanceof LazyLoadingProxy proxy) {
+            return String.valueOf(proxy.getSource());
+        }
+        return account == null ? null : account.getId();
+    }
+
+    public boolean hasEmbeddedLines() {
+        return orderLines != null;
+    }
+
     public enum OrderStatus {
         PENDING,
         PROCESSING,
@@ -4,6 +4,8 @@ import jakarta.validation.constraints.Positive;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.convert.LazyLoadingProxy;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DocumentReference;
 
@@ -22,9 +24,24 @@ public class OrderDetail {
     @Positive
     int quantity;
 
-    @DocumentReference
+    @DocumentReference(lazy = true)
     Orchid orchid;
 
-    @DocumentReference
+    @Indexed
+    @DocumentReference(lazy = true)
     Order order;
+
+    public String getOrchidId() {
+        if (orchid instanceof LazyLoadingProxy proxy) {
+            return String.valueOf(proxy.getSource());
+        }
+        return orchid == null ? null : orchid.getId();
+    }
+
+    public String getOrderId() {
+        if (order instanceof LazyLoadingProxy proxy) {
+            return String.valueOf(proxy.getSource());
+        }
+        return order == null ? null : order.getId();
+    }
 }
@@ -0,0 +1,27 @@
+package com.orchid.orchidbe.pojos;
+
+import jakarta.validation.constraints.Positive;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderLine {
+    String id;
+
+    String orchidId;
+
+    String orchidName;
+
+    String categoryId;
+
+    @Positive
+    double price;
+
+    @Positive
+    int quantity;
+
+    boolean stockReserved;
+}
@@ -0,0 +1,28 @@
+package com.orchid.orchidbe.pojos;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document(collection = "revoked_tokens")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RevokedToken {
+    @Id
+    String id;
+
+    @Indexed(expireAfter = "0s")
+    Instant expiresAt;
+
+    @Indexed
+    Instant revokedAt;
+}
@@ -0,0 +1,43 @@
+package com.orchid.orchidbe.pojos;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "sales_rollups")
+@CompoundIndex(name = "scope_day", def = "{'scope': 1, 'day': 1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SalesRollup {
+    @Id
+    String id;
+
+    @Indexed
+    String day;
+
+    String orchidId;
+
+    String categoryId;
+
+    Scope scope;
+
+    long units;
+
+    double revenue;
+
+    long orderCount;
+
+    public enum Scope {
+        ORCHID,
+        CATEGORY,
+        DAY
+    }
+}
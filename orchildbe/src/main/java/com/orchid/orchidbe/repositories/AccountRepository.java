@@ -7,7 +7,7 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface AccountRepository extends MongoRepository<Account, String> {
+public interface AccountRepository extends MongoRepository<Account, String>, AccountRepositoryCustom {
     boolean existsByEmail(String email);
     boolean existsByEmailAndIdNot(String email, String id);
     Optional<Account> findByEmail(String email);
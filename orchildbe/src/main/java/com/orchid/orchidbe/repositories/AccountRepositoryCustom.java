@@ -0,0 +1,11 @@
+package com.orchid.orchidbe.repositories;
+
+import com.orchid.orchidbe.dto.FieldSelection;
+import com.orchid.orchidbe.pojos.Account;
+
+import java.util.List;
+
+public interface AccountRepositoryCustom {
+    List<Account> findAllSelecting(FieldSelection fields);
+    boolean replacePassword(String accountId, String expectedPassword, String newPassword);
+}
@@ -0,0 +1,39 @@
+package com.orchid.orchidbe.repositories;
+
+import com.orchid.orchidbe.dto.FieldSelection;
+import com.orchid.orchidbe.pojos.Account;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountRepositoryCustomImpl implements AccountRepositoryCustom {
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Account> findAllSelecting(FieldSelection fields) {
+        Query query = new Query();
+        if (fields.isAll()) {
+            query.fields().exclude("password");
+        } else {
+            fields.names().forEach(query.fields()::include);
+        }
+
+        return mongoTemplate.find(query, Account.class);
+    }
+
+    @Override
+    public boolean replacePassword(String accountId, String expectedPassword, String newPassword) {
+        Query query = Query.query(Criteria.where("_id").is(accountId).and("password").is(expectedPassword));
+
+        return mongoTemplate.updateFirst(query, new Update().set("password", newPassword), Account.class)
+                .getModifiedCount() == 1;
+    }
+}
@@ -0,0 +1,9 @@
+package com.orchid.orchidbe.repositories;
+
+import com.orchid.orchidbe.pojos.IdempotencyRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IdempotencyRecordRepository extends MongoRepository<IdempotencyRecord, String> {
+}
@@ -2,10 +2,16 @@ package com.orchid.orchidbe.repositories;
 
 import com.orchid.orchidbe.pojos.Orchid;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
 @Repository
-public interface OrchidRepository extends MongoRepository<Orchid, String> {
+public interface OrchidRepository extends MongoRepository<Orchid, String>, OrchidRepositoryCustom {
     boolean existsByName(String name);
     boolean existsByNameAndIdNot(String name, String id);
+
+    @Query(value = "{ 'isAvailable': true }", fields = "{ 'name': 1, 'isAvailable': 1 }")
+    Stream<Orchid> streamAvailableNames();
 }
@@ -0,0 +1,22 @@
+package com.orchid.orchidbe.repositories;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.orchid.orchidbe.dto.FieldSelection;
+import com.orchid.orchidbe.dto.OrchidDto;
+import com.orchid.orchidbe.pojos.Orchid;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OrchidRepositoryCustom {
+    void updateDetails(Orchid orchid);
+    boolean setAvailable(String orchidId, boolean available);
+    void setStock(String orchidId, Integer stockQuantity);
+    boolean decrementStock(String orchidId, int quantity);
+    void incrementStock(String orchidId, int quantity);
+    List<Orchid> findAllSelecting(FieldSelection fields);
+    OrchidDto.OrchidPage findAvailable(String text, OrchidDto.OrchidSearchRequest searchRequest,
+                                       FieldSelection fields);
+    List<OrchidDto.OrchidResponse> findResponsesById(Collection<String> ids);
+    BulkWriteResult upsertAllByName(List<Orchid> orchids);
+}
@@ -0,0 +1,254 @@
+package com.orchid.orchidbe.repositories;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.orchid.orchidbe.dto.FieldSelection;
+import com.orchid.orchidbe.dto.OrchidDto;
+import com.orchid.orchidbe.pojos.Category;
+import com.orchid.orchidbe.pojos.Orchid;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrchidRepositoryCustomImpl implements OrchidRepositoryCustom {
+    private static final AggregationExpression TEXT_SCORE = context -> new Document("$meta", "textScore");
+
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public void updateDetails(Orchid orchid) {
+        Update update = new Update()
+                .set("isNatural", orchid.isNatural())
+                .set("description", orchid.getDescription())
+                .set("name", orchid.getName())
+                .set("url", orchid.getUrl())
+                .set("price", orchid.getPrice())
+                .set("category", orchid.getCategory());
+
+        mongoTemplate.updateFirst(byId(orchid.getId()), update, Orchid.class);
+    }
+
+    @Override
+    public boolean setAvailable(String orchidId, boolean available) {
+        return mongoTemplate.updateFirst(byId(orchidId), new Update().set("isAvailable", available), Orchid.class)
+                .getMatchedCount() == 1;
+    }
+
+    @Override
+    public void setStock(String orchidId, Integer stockQuantity) {
+        mongoTemplate.updateFirst(byId(orchidId), new Update().set("stockQuantity", stockQuantity), Orchid.class);
+    }
+
+    @Override
+    public boolean decrementStock(String orchidId, int quantity) {
+        Query query = Query.query(Criteria.where("_id").is(orchidId).and("stockQuantity").gte(quantity));
+
+        return mongoTemplate.updateFirst(query, new Update().inc("stockQuantity", -quantity), Orchid.class)
+                .getModifiedCount() == 1;
+    }
+
+    @Override
+    public void incrementStock(String orchidId, int quantity) {
+        Query query = Query.query(Criteria.where("_id").is(orchidId).and("stockQuantity").ne(null));
+
+        mongoTemplate.updateFirst(query, new Update().inc("stockQuantity", quantity), Orchid.class);
+    }
+
+    @Override
+    public List<Orchid> findAllSelecting(FieldSelection fields) {
+        Query query = new Query();
+        fields.names().forEach(query.fields()::include);
+
+        return mongoTemplate.find(query, Orchid.class);
+    }
+
+    @Override
+    public OrchidDto.OrchidPage findAvailable(String text, OrchidDto.OrchidSearchRequest searchRequest,
+                                              FieldSelection fields) {
+        Criteria criteria = Criteria.where("isAvailable").is(true);
+        if (searchRequest.categoryId() != null) {
+            criteria = criteria.and("category.id").is(searchRequest.categoryId());
+        }
+        if (searchRequest.natural() != null) {
+            criteria = criteria.and("isNatural").is(searchRequest.natural());
+        }
+        if (searchRequest.minPrice() != null || searchRequest.maxPrice() != null) {
+            Criteria price = criteria.and("price");
+            if (searchRequest.minPrice() != null) {
+                price.gte(searchRequest.minPrice());
+            }
+            if (searchRequest.maxPrice() != null) {
+                price.lte(searchRequest.maxPrice());
+            }
+        }
+
+        int page = searchRequest.pageNumber();
+        int size = searchRequest.limit();
+        List<Document> orchids = findAvailablePage(text, criteria, searchRequest, fields);
+        String nextCursor = null;
+        if (orchids.size() > size) {
+            orchids = orchids.subList(0, size);
+            if (text == null) {
+                Document last = orchids.getLast();
+                nextCursor = new OrchidDto.OrchidCursor(doubleOf(last, "price"), String.valueOf(last.get("_id")))
+                        .encode();
+            }
+        }
+
+        Document facets = countAvailable(text, criteria);
+        List<Document> total = facets.getList("total", Document.class, List.of());
+        return new OrchidDto.OrchidPage(
+                orchids.stream()
+                        .map(this::toOrchidResponse)
+                        .toList(),
+                page,
+                size,
+                total.isEmpty() ? 0 : total.getFirst().get("total", Number.class).longValue(),
+                toFacetCounts(facets.getList("categories", Document.class, List.of())),
+                toFacetCounts(facets.getList("natural", Document.class, List.of())),
+                nextCursor);
+    }
+
+    private List<Document> findAvailablePage(String text, Criteria criteria,
+                                             OrchidDto.OrchidSearchRequest searchRequest, FieldSelection fields) {
+        List<AggregationOperation> operations = new ArrayList<>();
+        if (text != null) {
+            operations.add(Aggregation.match(TextCriteria.forDefaultLanguage().matching(text)));
+            operations.add(Aggregation.match(criteria));
+            operations.add(Aggregation.addFields()
+                    .addField("score").withValueOf(TEXT_SCORE)
+                    .build());
+            operations.add(Aggregation.sort(Sort.by(Sort.Order.desc("score"), Sort.Order.asc("_id"))));
+            operations.add(Aggregation.skip((long) searchRequest.pageNumber() * searchRequest.limit()));
+        } else if (searchRequest.cursor() != null) {
+            OrchidDto.OrchidCursor cursor = OrchidDto.OrchidCursor.decode(searchRequest.cursor());
+            operations.add(Aggregation.match(new Criteria().andOperator(criteria, new Criteria().orOperator(
+                    Criteria.where("price").gt(cursor.price()),
+                    Criteria.where("price").is(cursor.price()).and("_id").gt(cursor.id())))));
+            operations.add(Aggregation.sort(Sort.by(Sort.Direction.ASC, "price", "_id")));
+        } else {
+            operations.add(Aggregation.match(criteria));
+            operations.add(Aggregation.sort(Sort.by(Sort.Direction.ASC, "price", "_id")));
+            operations.add(Aggregation.skip((long) searchRequest.pageNumber() * searchRequest.limit()));
+        }
+        operations.add(Aggregation.limit(searchRequest.limit() + 1));
+
+        if (!fields.isAll()) {
+            operations.add(Aggregation.project(Stream.concat(
+                            Stream.of("_id", "price"),
+                            fields.names().stream().filter(name -> !name.equals("id") && !name.equals("price")))
+                    .toArray(String[]::new)));
+        }
+        if (fields.includes("category")) {
+            operations.add(Aggregation.lookup("categories", "category", "_id", "category"));
+            operations.add(Aggregation.unwind("category", true));
+        }
+
+        TypedAggregation<Orchid> aggregation = Aggregation.newAggregation(Orchid.class, operations);
+        return mongoTemplate.aggregate(aggregation, Document.class).getMappedResults();
+    }
+
+    private Document countAvailable(String text, Criteria criteria) {
+        List<AggregationOperation> operations = new ArrayList<>();
+        if (text != null) {
+            operations.add(Aggregation.match(TextCriteria.forDefaultLanguage().matching(text)));
+        }
+        operations.add(Aggregation.match(criteria));
+        operations.add(Aggregation.facet(Aggregation.count().as("total"))
+                .as("total")
+                .and(Aggregation.group("category").count().as("count"))
+                .as("categories")
+                .and(Aggregation.group("isNatural").count().as("count"))
+                .as("natural"));
+
+        TypedAggregation<Orchid> aggregation = Aggregation.newAggregation(Orchid.class, operations)
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        Document facets = mongoTemplate.aggregate(aggregation, Document.class).getUniqueMappedResult();
+        return facets == null ? new Document() : facets;
+    }
+
+    @Override
+    public List<OrchidDto.OrchidResponse> findResponsesById(Collection<String> ids) {
+        TypedAggregation<Orchid> aggregation = Aggregation.newAggregation(Orchid.class,
+                Aggregation.match(Criteria.where("_id").in(ids)),
+                Aggregation.lookup("categories", "category", "_id", "category"),
+                Aggregation.unwind("category", true));
+
+        return mongoTemplate.aggregate(aggregation, Document.class)
+                .getMappedResults()
+                .stream()
+                .map(this::toOrchidResponse)
+                .toList();
+    }
+
+    @Override
+    public BulkWriteResult upsertAllByName(List<Orchid> orchids) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Orchid.class);
+        for (Orchid orchid : orchids) {
+            Update update = new Update()
+                    .set("isNatural", orchid.isNatural())
+                    .set("description", orchid.getDescription())
+                    .set("url", orchid.getUrl())
+                    .set("price", orchid.getPrice())
+                    .set("category", orchid.getCategory())
+                    .setOnInsert("isAvailable", orchid.isAvailable())
+                    .setOnInsert("stockQuantity", orchid.getStockQuantity());
+
+            bulkOperations.upsert(Query.query(Criteria.where("name").is(orchid.getName())), update);
+        }
+        return bulkOperations.execute();
+    }
+
+    private OrchidDto.OrchidResponse toOrchidResponse(Document document) {
+        Document category = document.get("category", Document.class);
+        return new OrchidDto.OrchidResponse(
+                String.valueOf(document.get("_id")),
+                document.getBoolean("isNatural", false),
+                document.getString("description"),
+                document.getString("name"),
+                document.getString("url"),
+                doubleOf(document, "price"),
+                document.getBoolean("isAvailable", false),
+                document.getInteger("stockQuantity"),
+                category == null
+                        ? null
+                        : new Category(String.valueOf(category.get("_id")), category.getString("name")));
+    }
+
+    private static double doubleOf(Document document, String key) {
+        Number value = document.get(key, Number.class);
+        return value == null ? 0 : value.doubleValue();
+    }
+
+    private List<OrchidDto.FacetCount> toFacetCounts(List<Document> documents) {
+        return documents
+                .stream()
+                .map(document -> new OrchidDto.FacetCount(
+                        String.valueOf(document.get("_id")),
+                        document.get("count", Number.class).longValue()))
+                .toList();
+    }
+
+    private Query byId(String orchidId) {
+        return Query.query(Criteria.where("_id").is(orchidId));
+    }
+}
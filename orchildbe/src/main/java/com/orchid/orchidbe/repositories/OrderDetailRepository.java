@@ -4,9 +4,11 @@ import com.orchid.orchidbe.pojos.OrderDetail;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 @Repository
 public interface OrderDetailRepository extends MongoRepository<OrderDetail, String> {
     List<OrderDetail> findByOrderId(String orderId);
+    List<OrderDetail> findAllByOrder_IdIn(Collection<String> orderIds);
     void deleteAllByOrder_Id(String orderId);
 }
@@ -4,9 +4,10 @@ import com.orchid.orchidbe.pojos.Order;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface OrderRepository extends MongoRepository<Order, String> {
-    List<Order> findAllByAccount_Id(String accountId);
+public interface OrderRepository extends MongoRepository<Order, String>, OrderRepositoryCustom {
+    List<Order> findTop500ByOrderStatusAndReservationExpiresAtBefore(Order.OrderStatus orderStatus, LocalDateTime time);
 }
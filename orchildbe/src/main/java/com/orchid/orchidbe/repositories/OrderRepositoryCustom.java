@@ -0,0 +1,20 @@
+package com.orchid.orchidbe.repositories;
+
+import com.orchid.orchidbe.dto.FieldSelection;
+import com.orchid.orchidbe.dto.OrderDto;
+import com.orchid.orchidbe.dto.SalesDto;
+import com.orchid.orchidbe.pojos.Order;
+import com.orchid.orchidbe.pojos.OrderLine;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface OrderRepositoryCustom {
+    List<Order> findPage(String accountId, OrderDto.OrderPageRequest pageRequest, FieldSelection fields);
+    Stream<Order> stream(OrderDto.OrderPageRequest filter);
+    Order transitionStatus(String id, String accountId, Order.OrderStatus expected, Order.OrderStatus status);
+    Order replacePendingLines(String id, String accountId, List<OrderLine> orderLines, double totalAmount,
+                              LocalDateTime reservationExpiresAt);
+    SalesDto.SalesReport salesReport(LocalDateTime from, LocalDateTime to, int top);
+}
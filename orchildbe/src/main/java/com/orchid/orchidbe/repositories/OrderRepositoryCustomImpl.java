@@ -0,0 +1,274 @@
+package com.orchid.orchidbe.repositories;
+
+import com.orchid.orchidbe.dto.FieldSelection;
+import com.orchid.orchidbe.dto.OrderDto;
+import com.orchid.orchidbe.dto.SalesDto;
+import com.orchid.orchidbe.pojos.Order;
+import com.orchid.orchidbe.pojos.OrderLine;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AccumulatorOperators;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final Map<String, String> RESPONSE_FIELD_PATHS = Map.of(
+            "accountId", "account",
+            "orderDetails", "orderLines");
+    private static final Document ORDER_DATE_INDEX = new Document("orderDate", -1).append("_id", -1);
+    private static final ArithmeticOperators.Multiply LINE_REVENUE =
+            ArithmeticOperators.valueOf("orderLines.price").multiplyBy("orderLines.quantity");
+    private static final Document LEGACY_ORDER_LINE = new Document("$let", new Document()
+            .append("vars", new Document("orchid", new Document("$arrayElemAt", List.of(
+                    new Document("$filter", new Document("input", "$legacyOrchids")
+                            .append("cond", new Document("$eq", List.of("$$this._id", "$$detail.orchid")))),
+                    0))))
+            .append("in", new Document()
+                    .append("orchidId", new Document("$toString", "$$detail.orchid"))
+                    .append("orchidName", "$$orchid.name")
+                    .append("categoryId", new Document("$toString", "$$orchid.category"))
+                    .append("price", new Document("$cond", List.of(
+                            new Document("$eq", List.of("$$detail.price", 0)),
+                            new Document("$ifNull", List.of("$$orchid.price", 0)),
+                            "$$detail.price")))
+                    .append("quantity", "$$detail.quantity")));
+    private static final List<AggregationOperation> LEGACY_ORDER_LINES = List.of(
+            context -> new Document("$addFields", new Document("legacyOrderId", new Document("$cond", List.of(
+                    new Document("$and", List.of(
+                            new Document("$eq", List.of("$orderStatus", Order.OrderStatus.COMPLETED.name())),
+                            new Document("$eq", List.of(new Document("$type", "$orderLines"), "missing")))),
+                    "$_id",
+                    "$$REMOVE")))),
+            context -> new Document("$lookup", new Document("from", "order_details")
+                    .append("localField", "legacyOrderId")
+                    .append("foreignField", "order")
+                    .append("as", "legacyDetails")),
+            context -> new Document("$lookup", new Document("from", "orchids")
+                    .append("localField", "legacyDetails.orchid")
+                    .append("foreignField", "_id")
+                    .append("as", "legacyOrchids")),
+            context -> new Document("$addFields", new Document("orderLines", new Document("$ifNull", List.of(
+                    "$orderLines",
+                    new Document("$map", new Document("input", "$legacyDetails")
+                            .append("as", "detail")
+                            .append("in", LEGACY_ORDER_LINE)))))),
+            context -> new Document("$unset", List.of("legacyOrderId", "legacyDetails", "legacyOrchids")));
+
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Order> findPage(String accountId, OrderDto.OrderPageRequest pageRequest, FieldSelection fields) {
+        Query query = new Query(criteriaOf(accountId, pageRequest))
+                .with(Sort.by(Sort.Direction.DESC, "orderDate", "_id"))
+                .limit(pageRequest.limit() + 1);
+        if (!fields.isAll()) {
+            query.fields().include("orderDate");
+            fields.names().forEach(name -> query.fields().include(RESPONSE_FIELD_PATHS.getOrDefault(name, name)));
+        }
+
+        return mongoTemplate.find(query, Order.class);
+    }
+
+    @Override
+    public Stream<Order> stream(OrderDto.OrderPageRequest filter) {
+        Query query = new Query(criteriaOf(null, filter))
+                .with(Sort.by(Sort.Direction.DESC, "orderDate", "_id"))
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+
+        return mongoTemplate.stream(query, Order.class);
+    }
+
+    @Override
+    public Order transitionStatus(String id, String accountId, Order.OrderStatus expected, Order.OrderStatus status) {
+        Criteria criteria = Criteria.where("_id").is(id).and("orderStatus").is(expected);
+        if (accountId != null) {
+            criteria = criteria.and("account.id").is(accountId);
+        }
+
+        return mongoTemplate.findAndModify(
+                new Query(criteria),
+                new Update().set("orderStatus", status),
+                FindAndModifyOptions.options().returnNew(true),
+                Order.class);
+    }
+
+    @Override
+    public Order replacePendingLines(String id, String accountId, List<OrderLine> orderLines, double totalAmount,
+                                     LocalDateTime reservationExpiresAt) {
+        Criteria criteria = Criteria.where("_id").is(id).and("orderStatus").is(Order.OrderStatus.PENDING);
+        if (accountId != null) {
+            criteria = criteria.and("account.id").is(accountId);
+        }
+
+        return mongoTemplate.findAndModify(
+                new Query(criteria),
+                new Update()
+                        .set("orderLines", orderLines)
+                        .set("totalAmount", totalAmount)
+                        .set("reservationExpiresAt", reservationExpiresAt),
+                FindAndModifyOptions.options().returnNew(false),
+                Order.class);
+    }
+
+    @Override
+    public SalesDto.SalesReport salesReport(LocalDateTime from, LocalDateTime to, int top) {
+        Criteria range = Criteria.where("orderDate");
+        if (from != null) {
+            range = range.gte(from);
+        }
+        if (to != null) {
+            range = range.lt(to);
+        }
+        Criteria completedLines = Criteria.where("orderStatus").is(Order.OrderStatus.COMPLETED)
+                .and("orderLines").exists(true);
+
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(Aggregation.match(from == null && to == null ? new Criteria() : range));
+        operations.addAll(LEGACY_ORDER_LINES);
+        operations.add(Aggregation.facet(
+                                Aggregation.match(completedLines),
+                                Aggregation.unwind("orderLines"),
+                                Aggregation.group(Fields.from(
+                                                Fields.field("orderId", "_id"),
+                                                Fields.field("orchidId", "orderLines.orchidId")))
+                                        .first("orderLines.orchidName").as("orchidName")
+                                        .sum("orderLines.quantity").as("units")
+                                        .sum(LINE_REVENUE).as("revenue"),
+                                Aggregation.group("orchidId")
+                                        .first("orchidName").as("orchidName")
+                                        .sum("units").as("units")
+                                        .sum("revenue").as("revenue")
+                                        .count().as("orderCount"),
+                                Aggregation.sort(Sort.Direction.DESC, "revenue"),
+                                Aggregation.limit(top))
+                        .as("topOrchids")
+                        .and(
+                                Aggregation.match(completedLines),
+                                Aggregation.unwind("orderLines"),
+                                Aggregation.group(Fields.from(
+                                                Fields.field("orderId", "_id"),
+                                                Fields.field("categoryId", "orderLines.categoryId")))
+                                        .sum("orderLines.quantity").as("units")
+                                        .sum(LINE_REVENUE).as("revenue"),
+                                Aggregation.group("categoryId")
+                                        .sum("units").as("units")
+                                        .sum("revenue").as("revenue")
+                                        .count().as("orderCount"),
+                                Aggregation.sort(Sort.Direction.DESC, "revenue"))
+                        .as("revenueByCategory")
+                        .and(
+                                Aggregation.group("orderStatus")
+                                        .count().as("orderCount")
+                                        .sum("totalAmount").as("amount"),
+                                Aggregation.sort(Sort.Direction.ASC, "_id"))
+                        .as("statusBreakdown")
+                        .and(
+                                Aggregation.match(completedLines),
+                                Aggregation.project("totalAmount")
+                                        .and(AccumulatorOperators.Sum.sumOf("orderLines.quantity")).as("units"),
+                                Aggregation.group()
+                                        .count().as("orderCount")
+                                        .avg("totalAmount").as("averageAmount")
+                                        .avg("units").as("averageUnits"))
+                        .as("basketSize"));
+
+        TypedAggregation<Order> aggregation = Aggregation.newAggregation(Order.class, operations)
+                .withOptions(AggregationOptions.builder()
+                        .allowDiskUse(true)
+                        .hint(ORDER_DATE_INDEX)
+                        .build());
+
+        Document facets = mongoTemplate.aggregate(aggregation, Document.class).getUniqueMappedResult();
+        return toSalesReport(facets == null ? new Document() : facets);
+    }
+
+    private SalesDto.SalesReport toSalesReport(Document facets) {
+        List<Document> basketSize = facets.getList("basketSize", Document.class, List.of());
+        return new SalesDto.SalesReport(
+                facets.getList("topOrchids", Document.class, List.of())
+                        .stream()
+                        .map(document -> new SalesDto.OrchidSales(
+                                document.getString("_id"),
+                                document.getString("orchidName"),
+                                longOf(document, "units"),
+                                doubleOf(document, "revenue"),
+                                longOf(document, "orderCount")))
+                        .toList(),
+                facets.getList("revenueByCategory", Document.class, List.of())
+                        .stream()
+                        .map(document -> new SalesDto.SalesTotal(
+                                document.getString("_id"),
+                                longOf(document, "units"),
+                                doubleOf(document, "revenue"),
+                                longOf(document, "orderCount")))
+                        .toList(),
+                facets.getList("statusBreakdown", Document.class, List.of())
+                        .stream()
+                        .map(document -> new SalesDto.StatusTotal(
+                                Order.OrderStatus.valueOf(document.getString("_id")),
+                                longOf(document, "orderCount"),
+                                doubleOf(document, "amount")))
+                        .toList(),
+                basketSize.isEmpty()
+                        ? new SalesDto.BasketSize(0, 0, 0)
+                        : new SalesDto.BasketSize(
+                                longOf(basketSize.getFirst(), "orderCount"),
+                                doubleOf(basketSize.getFirst(), "averageAmount"),
+                                doubleOf(basketSize.getFirst(), "averageUnits")));
+    }
+
+    private static long longOf(Document document, String key) {
+        Number value = document.get(key, Number.class);
+        return value == null ? 0 : value.longValue();
+    }
+
+    private static double doubleOf(Document document, String key) {
+        Number value = document.get(key, Number.class);
+        return value == null ? 0 : value.doubleValue();
+    }
+
+    private Criteria criteriaOf(String accountId, OrderDto.OrderPageRequest pageRequest) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (accountId != null) {
+            criteria.add(Criteria.where("account.id").is(accountId));
+        }
+        if (pageRequest.status() != null) {
+            criteria.add(Criteria.where("orderStatus").is(pageRequest.status()));
+        }
+        if (pageRequest.from() != null) {
+            criteria.add(Criteria.where("orderDate").gte(pageRequest.from()));
+        }
+        if (pageRequest.to() != null) {
+            criteria.add(Criteria.where("orderDate").lt(pageRequest.to()));
+        }
+        if (pageRequest.cursor() != null) {
+            OrderDto.OrderCursor cursor = OrderDto.OrderCursor.decode(pageRequest.cursor());
+            criteria.add(new Criteria().orOperator(
+                    Criteria.where("orderDate").lt(cursor.orderDate()),
+                    Criteria.where("orderDate").is(cursor.orderDate()).and("_id").lt(cursor.id())));
+        }
+
+        return criteria.isEmpty() ? new Criteria() : new Criteria().andOperator(criteria);
+    }
+}
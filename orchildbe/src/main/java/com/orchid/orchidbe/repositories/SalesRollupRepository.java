@@ -0,0 +1,9 @@
+package com.orchid.orchidbe.repositories;
+
+import com.orchid.orchidbe.pojos.SalesRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SalesRollupRepository extends MongoRepository<SalesRollup, String>, SalesRollupRepositoryCustom {
+}
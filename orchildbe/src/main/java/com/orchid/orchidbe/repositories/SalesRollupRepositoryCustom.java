@@ -0,0 +1,11 @@
+package com.orchid.orchidbe.repositories;
+
+import com.orchid.orchidbe.dto.SalesDto;
+import com.orchid.orchidbe.pojos.SalesRollup;
+
+import java.util.List;
+
+public interface SalesRollupRepositoryCustom {
+    void increment(List<SalesRollup> deltas);
+    List<SalesDto.SalesTotal> sumBy(SalesRollup.Scope scope, String fromDay, String toDay);
+}
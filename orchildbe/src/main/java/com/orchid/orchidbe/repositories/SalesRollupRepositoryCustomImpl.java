@@ -0,0 +1,71 @@
+package com.orchid.orchidbe.repositories;
+
+import com.orchid.orchidbe.dto.SalesDto;
+import com.orchid.orchidbe.pojos.SalesRollup;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SalesRollupRepositoryCustomImpl implements SalesRollupRepositoryCustom {
+    MongoTemplate mongoTemplate;
+
+    @Override
+    public void increment(List<SalesRollup> deltas) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SalesRollup.class);
+        for (SalesRollup delta : deltas) {
+            bulkOperations.upsert(
+                    Query.query(Criteria.where("_id").is(delta.getId())),
+                    new Update()
+                            .setOnInsert("day", delta.getDay())
+                            .setOnInsert("orchidId", delta.getOrchidId())
+                            .setOnInsert("categoryId", delta.getCategoryId())
+                            .set("scope", delta.getScope())
+                            .inc("units", delta.getUnits())
+                            .inc("revenue", delta.getRevenue())
+                            .inc("orderCount", delta.getOrderCount()));
+        }
+        bulkOperations.execute();
+    }
+
+    @Override
+    public List<SalesDto.SalesTotal> sumBy(SalesRollup.Scope scope, String fromDay, String toDay) {
+        Criteria criteria = Criteria.where("scope").is(scope);
+        if (fromDay != null || toDay != null) {
+            Criteria day = criteria.and("day");
+            if (fromDay != null) {
+                day.gte(fromDay);
+            }
+            if (toDay != null) {
+                day.lte(toDay);
+            }
+        }
+
+        String field = switch (scope) {
+            case ORCHID -> "orchidId";
+            case CATEGORY -> "categoryId";
+            case DAY -> "day";
+        };
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group(field)
+                        .sum("units").as("units")
+                        .sum("revenue").as("revenue")
+                        .sum("orderCount").as("orderCount"),
+                Aggregation.project("units", "revenue", "orderCount").and("key").previousOperation(),
+                Aggregation.sort(Sort.Direction.ASC, "key"));
+
+        return mongoTemplate.aggregate(aggregation, SalesRollup.class, SalesDto.SalesTotal.class).getMappedResults();
+    }
+}
@@ -0,0 +1,53 @@
+package com.orchid.orchidbe.services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.orchid.orchidbe.pojos.Account;
+import com.orchid.orchidbe.pojos.Role;
+import com.orchid.orchidbe.repositories.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountCache {
+    LoadingCache<String, Account> accounts;
+
+    public AccountCache(AccountRepository accountRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${security.account-cache.max-size:10000}") long maxSize,
+                        @Value("${security.account-cache.ttl:PT5M}") Duration ttl) {
+        this.accounts = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build((String id) -> accountRepository.findById(id)
+                        .map(AccountCache::snapshot)
+                        .orElse(null)), "accounts");
+    }
+
+    public Optional<Account> findAccount(String id) {
+        return Optional.ofNullable(accounts.get(id));
+    }
+
+    public void evictAccount(String id) {
+        accounts.invalidate(id);
+    }
+
+    private static Account snapshot(Account account) {
+        Role role = account.getRole();
+        return new Account(
+                account.getId(),
+                account.getName(),
+                account.getEmail(),
+                null,
+                role == null ? null : new Role(role.getId(), role.getName()));
+    }
+}
@@ -1,12 +1,15 @@
 package com.orchid.orchidbe.services;
 
 import com.orchid.orchidbe.dto.AccountDto;
+import com.orchid.orchidbe.dto.FieldSelection;
 
 import java.util.List;
 
 public interface AccountService {
-    List<AccountDto.AccountResponse> findAll();
+    List<AccountDto.AccountResponse> findAll(FieldSelection fields);
     AccountDto.LoginResponse login(String email, String password);
+    AccountDto.LoginResponse refresh(String refreshToken);
+    void logout(String refreshToken);
     AccountDto.AccountResponse findById(String id);
     AccountDto.AccountResponse register(AccountDto.AccountRequest accountRequest);
     AccountDto.AccountResponse add(AccountDto.AccountRequestForAdmin accountRequest);
@@ -2,22 +2,32 @@ package com.orchid.orchidbe.services;
 
 import com.orchid.orchidbe.configs.JwtUtil;
 import com.orchid.orchidbe.dto.AccountDto;
+import com.orchid.orchidbe.dto.FieldSelection;
+import com.orchid.orchidbe.exceptions.RateLimitExceededException;
 import com.orchid.orchidbe.mappers.AccountMapper;
 import com.orchid.orchidbe.pojos.Account;
 import com.orchid.orchidbe.pojos.Role;
 import com.orchid.orchidbe.repositories.AccountRepository;
 import com.orchid.orchidbe.repositories.RoleRepository;
+import io.jsonwebtoken.JwtException;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,27 +38,99 @@ public class AccountServiceImpl implements AccountService {
     RoleRepository roleRepository;
     JwtUtil jwtUtil;
     AccountMapper accountMapper;
+    AccountCache accountCache;
+    PasswordVerifier passwordVerifier;
+    RateLimiter rateLimiter;
+    RevocationList revocationList;
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
-    public List<AccountDto.AccountResponse> findAll() {
-        return accountRepository.findAll()
+    public List<AccountDto.AccountResponse> findAll(FieldSelection fields) {
+        List<Account> accounts = accountRepository.findAllSelecting(fields);
+        if (fields.includes("role")) {
+            attachRoles(accounts);
+        }
+
+        return accounts
                 .stream()
                 .map(accountMapper::toAccountResponse)
                 .toList();
     }
 
+    private void attachRoles(List<Account> accounts) {
+        Map<String, Role> rolesById = roleRepository.findAllById(accounts
+                        .stream()
+                        .map(Account::getRoleId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Role::getId, Function.identity()));
+
+        for (Account account : accounts) {
+            String roleId = account.getRoleId();
+            if (roleId != null) {
+                account.setRole(rolesById.get(roleId));
+            }
+        }
+    }
+
     @Override
     public AccountDto.LoginResponse login(String email, String password) {
+        String emailKey = email == null ? null : email.toLowerCase(Locale.ROOT);
+        long retryAfter = rateLimiter.tryAcquire(RateLimiter.Scope.LOGIN_EMAIL, emailKey);
+        if (retryAfter > 0) {
+            throw new RateLimitExceededException(RateLimiter.retryAfterSeconds(retryAfter));
+        }
+
         Account account = accountRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid email or password"));
-        if (!passwordEncoder.matches(password, account.getPassword())) {
+        PasswordVerifier.Verification verification = passwordVerifier.verify(password, account.getPassword());
+        if (!verification.matches()) {
             throw new IllegalArgumentException("Invalid email or password");
         }
-        AccountDto.AccountResponse accountResponse = accountMapper.toAccountResponse(account);
-        String token = jwtUtil.generateToken(account);
+        if (verification.upgradedPassword() != null) {
+            accountRepository.replacePassword(account.getId(), account.getPassword(), verification.upgradedPassword());
+        }
+        return toLoginResponse(account);
+    }
+
+    @Override
+    public AccountDto.LoginResponse refresh(String refreshToken) {
+        JwtUtil.TokenClaims claims = jwtUtil.verify(refreshToken);
+        if (!claims.refresh() || !revocationList.revoke(claims.tokenId(), claims.expiresAt())) {
+            throw new JwtException("Invalid refresh token");
+        }
+
+        Account account = accountRepository.findById(claims.accountId())
+                .orElseThrow(() -> new JwtException("Invalid refresh token"));
+        return toLoginResponse(account);
+    }
+
+    @Override
+    public void logout(String refreshToken) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getCredentials() instanceof String accessToken)) {
+            throw new IllegalArgumentException("Haven't login yet");
+        }
+
+        JwtUtil.TokenClaims accessClaims = jwtUtil.verify(accessToken);
+        revocationList.revoke(accessClaims.tokenId(), accessClaims.expiresAt());
+
+        if (refreshToken != null) {
+            JwtUtil.TokenClaims refreshClaims = jwtUtil.verify(refreshToken);
+            if (!refreshClaims.refresh() || !Objects.equals(refreshClaims.accountId(), accessClaims.accountId())) {
+                throw new IllegalArgumentException("Refresh token does not belong to this account");
+            }
+            revocationList.revoke(refreshClaims.tokenId(), refreshClaims.expiresAt());
+        }
+    }
 
-        return new AccountDto.LoginResponse(token, accountResponse);
+    private AccountDto.LoginResponse toLoginResponse(Account account) {
+        return new AccountDto.LoginResponse(
+                jwtUtil.generateToken(account),
+                accountMapper.toAccountResponse(account),
+                jwtUtil.generateRefreshToken(account));
     }
 
     @Override
@@ -111,7 +193,9 @@ public class AccountServiceImpl implements AccountService {
         existingAccount.setPassword(passwordEncoder.encode(accountRequest.password()));
         existingAccount.setEmail(accountRequest.email());
 
-        return accountMapper.toAccountResponse(accountRepository.save(existingAccount));
+        Account savedAccount = accountRepository.save(existingAccount);
+        accountCache.evictAccount(id);
+        return accountMapper.toAccountResponse(savedAccount);
     }
 
     @Override
@@ -121,5 +205,6 @@ public class AccountServiceImpl implements AccountService {
         Account existingAccount = accountRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Account not found"));
         accountRepository.delete(existingAccount);
+        accountCache.evictAccount(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.orchid.orchidbe.services;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.orchid.orchidbe.pojos.Category;
+import com.orchid.orchidbe.pojos.Orchid;
+import com.orchid.orchidbe.repositories.CategoryRepository;
+import com.orchid.orchidbe.repositories.OrchidRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CatalogCache {
+    LoadingCache<String, Orchid> orchids;
+    LoadingCache<String, Category> categories;
+    AtomicLong version = new AtomicLong();
+
+    public CatalogCache(OrchidRepository orchidRepository,
+                        CategoryRepository categoryRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${catalog.cache.max-size:10000}") long maxSize,
+                        @Value("${catalog.cache.ttl:PT10M}") Duration ttl,
+                        @Value("${catalog.cache.refresh-after:PT30S}") Duration refreshAfter) {
+        this.categories = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .recordStats()
+                .build(new CacheLoader<String, Category>() {
+                    @Override
+                    public Category load(String id) {
+                        return categoryRepository.findById(id).orElse(null);
+                    }
+
+                    @Override
+                    public Map<String, Category> loadAll(Set<? extends String> ids) {
+                        return categoryRepository.findAllById(List.copyOf(ids))
+                                .stream()
+                                .collect(Collectors.toMap(Category::getId, Function.identity()));
+                    }
+                }), "categories");
+
+        this.orchids = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .recordStats()
+                .build(new CacheLoader<String, Orchid>() {
+                    @Override
+                    public Orchid load(String id) {
+                        Orchid orchid = orchidRepository.findById(id).orElse(null);
+                        if (orchid != null) {
+                            attachCategories(List.of(orchid));
+                        }
+                        return orchid;
+                    }
+
+                    @Override
+                    public Map<String, Orchid> loadAll(Set<? extends String> ids) {
+                        List<Orchid> loaded = orchidRepository.findAllById(List.copyOf(ids));
+                        attachCategories(loaded);
+                        return loaded
+                                .stream()
+                                .collect(Collectors.toMap(Orchid::getId, Function.identity()));
+                    }
+                }), "orchids");
+    }
+
+    public Optional<Orchid> findOrchid(String id) {
+        return Optional.ofNullable(orchids.get(id));
+    }
+
+    public Map<String, Orchid> findOrchids(Collection<String> ids) {
+        return orchids.getAll(ids);
+    }
+
+    public Map<String, Category> findCategories(Collection<String> ids) {
+        return categories.getAll(ids);
+    }
+
+    public Optional<Category> findCategory(String id) {
+        return Optional.ofNullable(categories.get(id));
+    }
+
+    public void attachCategories(Collection<Orchid> orchidsToAttach) {
+        Map<String, Category> categoriesById = categories.getAll(orchidsToAttach
+                .stream()
+                .map(Orchid::getCategoryId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+
+        for (Orchid orchid : orchidsToAttach) {
+            String categoryId = orchid.getCategoryId();
+            if (categoryId != null) {
+                orchid.setCategory(categoriesById.get(categoryId));
+            }
+        }
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public void evictOrchid(String id) {
+        orchids.invalidate(id);
+        version.incrementAndGet();
+    }
+
+    public void evictOrchids() {
+        orchids.invalidateAll();
+        version.incrementAndGet();
+    }
+
+    public void evictCategory(String id) {
+        categories.invalidate(id);
+        orchids.invalidateAll();
+        version.incrementAndGet();
+    }
+}
@@ -18,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class CategoryServiceImpl implements CategoryService {
 
     CategoryRepository categoryRepository;
+    CatalogCache catalogCache;
 
     @Override
     public List<Category> findAll() {
@@ -26,7 +27,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public Category findById(String id) {
-        return categoryRepository.findById(id)
+        return catalogCache.findCategory(id)
                 .orElseThrow(() -> new IllegalArgumentException("Category not found"));
     }
 
@@ -41,14 +42,17 @@ public class CategoryServiceImpl implements CategoryService {
         Category newCategory = new Category();
         newCategory.setName(categoryRequest.name());
 
-        return categoryRepository.save(newCategory);
+        Category savedCategory = categoryRepository.save(newCategory);
+        catalogCache.evictCategory(savedCategory.getId());
+        return savedCategory;
     }
 
     @Override
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public Category update(String id, CategoryDto.CategoryRequest categoryRequest) {
-        Category existingCategory = findById(id);
+        Category existingCategory = categoryRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found"));
 
         if (categoryRepository.existsByNameAndIdNot(categoryRequest.name(), id)) {
             throw new IllegalArgumentException("Category with name " + categoryRequest.name() + " already exists");
@@ -56,14 +60,18 @@ public class CategoryServiceImpl implements CategoryService {
 
         existingCategory.setName(categoryRequest.name());
 
-        return categoryRepository.save(existingCategory);
+        Category savedCategory = categoryRepository.save(existingCategory);
+        catalogCache.evictCategory(id);
+        return savedCategory;
     }
 
     @Override
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public void delete(String id) {
-        Category existingCategory = findById(id);
+        Category existingCategory = categoryRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found"));
         categoryRepository.delete(existingCategory);
+        catalogCache.evictCategory(id);
     }
 }
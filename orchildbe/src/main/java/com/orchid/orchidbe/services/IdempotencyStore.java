@@ -0,0 +1,137 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.pojos.IdempotencyRecord;
+import com.orchid.orchidbe.repositories.IdempotencyRecordRepository;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class IdempotencyStore {
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final int CLAIM_ATTEMPTS = 3;
+
+    IdempotencyRecordRepository idempotencyRecordRepository;
+    Duration pollInterval;
+    Map<String, IdempotencyRecord> recent;
+    ConcurrentMap<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                            @Value("${idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${idempotency.poll-interval:PT0.1S}") Duration pollInterval) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.pollInterval = pollInterval;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public Optional<IdempotencyRecord> claim(String key, String requestHash) {
+        IdempotencyRecord remembered = remembered(key);
+        if (remembered != null) {
+            return Optional.of(remembered);
+        }
+
+        for (int attempt = 0; attempt < CLAIM_ATTEMPTS; attempt++) {
+            if (insertClaim(key, requestHash)) {
+                inFlight.put(key, new CompletableFuture<>());
+                return Optional.empty();
+            }
+
+            Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findById(key);
+            if (existing.isPresent() && !isExpired(existing.get())) {
+                existing.filter(IdempotencyRecord::isCompleted).ifPresent(this::remember);
+                return existing;
+            }
+            existing.ifPresent(idempotencyRecordRepository::delete);
+        }
+        throw new IllegalStateException("Could not claim idempotency key " + key);
+    }
+
+    public IdempotencyRecord await(String key, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CompletableFuture<IdempotencyRecord> future = inFlight.get(key);
+        if (future != null) {
+            try {
+                return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                return null;
+            }
+        }
+
+        while (System.nanoTime() < deadline) {
+            Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findById(key);
+            if (stored.isEmpty()) {
+                return null;
+            }
+            if (stored.get().isCompleted()) {
+                remember(stored.get());
+                return stored.get();
+            }
+            Thread.sleep(pollInterval.toMillis());
+        }
+        return null;
+    }
+
+    public void complete(IdempotencyRecord record) {
+        idempotencyRecordRepository.save(record);
+        remember(record);
+        CompletableFuture<IdempotencyRecord> future = inFlight.remove(record.getId());
+        if (future != null) {
+            future.complete(record);
+        }
+    }
+
+    public void release(String key) {
+        idempotencyRecordRepository.deleteById(key);
+        CompletableFuture<IdempotencyRecord> future = inFlight.remove(key);
+        if (future != null) {
+            future.complete(null);
+        }
+    }
+
+    private boolean insertClaim(String key, String requestHash) {
+        try {
+            idempotencyRecordRepository.insert(new IdempotencyRecord(key, requestHash, 0, null, null, Instant.now()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private IdempotencyRecord remembered(String key) {
+        IdempotencyRecord record;
+        synchronized (recent) {
+            record = recent.get(key);
+        }
+        return record != null && !isExpired(record) ? record : null;
+    }
+
+    private void remember(IdempotencyRecord record) {
+        synchronized (recent) {
+            recent.put(record.getId(), record);
+        }
+    }
+
+    private boolean isExpired(IdempotencyRecord record) {
+        return record.getCreatedAt().plus(TTL).isBefore(Instant.now());
+    }
+}
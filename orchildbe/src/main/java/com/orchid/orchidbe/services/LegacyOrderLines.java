@@ -0,0 +1,55 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.pojos.Orchid;
+import com.orchid.orchidbe.pojos.OrderDetail;
+import com.orchid.orchidbe.pojos.OrderLine;
+import com.orchid.orchidbe.repositories.OrchidRepository;
+import com.orchid.orchidbe.repositories.OrderDetailRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LegacyOrderLines {
+    OrderDetailRepository orderDetailRepository;
+    OrchidRepository orchidRepository;
+
+    public Map<String, List<OrderLine>> findByOrderIds(Collection<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Map.of();
+        }
+        List<OrderDetail> details = orderDetailRepository.findAllByOrder_IdIn(orderIds);
+
+        Map<String, Orchid> orchidsById = orchidRepository
+                .findAllById(details.stream().map(OrderDetail::getOrchidId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Orchid::getId, Function.identity()));
+
+        return details.stream()
+                .collect(Collectors.groupingBy(
+                        OrderDetail::getOrderId,
+                        Collectors.mapping(detail -> toOrderLine(detail, orchidsById), Collectors.toList())));
+    }
+
+    private static OrderLine toOrderLine(OrderDetail detail, Map<String, Orchid> orchidsById) {
+        Orchid orchid = orchidsById.get(detail.getOrchidId());
+        double price = detail.getPrice() == 0 && orchid != null ? orchid.getPrice() : detail.getPrice();
+        return new OrderLine(
+                detail.getId(),
+                detail.getOrchidId(),
+                orchid == null ? null : orchid.getName(),
+                orchid == null ? null : orchid.getCategoryId(),
+                price,
+                detail.getQuantity(),
+                false);
+    }
+}
@@ -0,0 +1,275 @@
+package com.orchid.orchidbe.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.mongodb.bulk.BulkWriteResult;
+import com.orchid.orchidbe.dto.OrchidDto;
+import com.orchid.orchidbe.pojos.Category;
+import com.orchid.orchidbe.pojos.Orchid;
+import com.orchid.orchidbe.repositories.OrchidRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrchidImporter {
+    private static final int DUPLICATE_KEY = 11000;
+
+    OrchidRepository orchidRepository;
+    CatalogCache catalogCache;
+    OrchidSuggester orchidSuggester;
+    Validator validator;
+    ObjectMapper objectMapper;
+    CsvMapper csvMapper;
+    int chunkSize;
+    int maxErrors;
+
+    public OrchidImporter(OrchidRepository orchidRepository,
+                          CatalogCache catalogCache,
+                          OrchidSuggester orchidSuggester,
+                          Validator validator,
+                          ObjectMapper objectMapper,
+                          @Value("${catalog.import.chunk-size:1000}") int chunkSize,
+                          @Value("${catalog.import.max-errors:1000}") int maxErrors) {
+        this.orchidRepository = orchidRepository;
+        this.catalogCache = catalogCache;
+        this.orchidSuggester = orchidSuggester;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public OrchidDto.ImportResult importOrchids(InputStream in, OrchidDto.ImportFormat format) throws IOException {
+        ImportTally tally = new ImportTally(maxErrors);
+
+        try (ExecutorService writer = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("orchid-import").factory());
+             MappingIterator<OrchidDto.OrchidRequest> rows = open(in, format)) {
+            Future<ChunkResult> pending = null;
+            List<Row> chunk = new ArrayList<>(chunkSize);
+
+            for (long rowNumber = 1; ; rowNumber++) {
+                OrchidDto.OrchidRequest request;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    request = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    tally.reject(rowNumber, e.getOriginalMessage());
+                    continue;
+                } catch (JsonProcessingException e) {
+                    tally.reject(rowNumber, "Malformed input: " + e.getOriginalMessage());
+                    break;
+                }
+
+                String violations = validate(request);
+                if (violations != null) {
+                    tally.reject(rowNumber, violations);
+                    continue;
+                }
+
+                tally.accept();
+                chunk.add(new Row(rowNumber, request));
+                if (chunk.size() == chunkSize) {
+                    await(pending, tally);
+                    List<Row> full = chunk;
+                    pending = writer.submit(() -> write(full));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+
+            await(pending, tally);
+            if (!chunk.isEmpty()) {
+                tally.add(write(chunk));
+            }
+        } finally {
+            if (tally.inserted > 0 || tally.updated > 0) {
+                catalogCache.evictOrchids();
+            }
+        }
+
+        log.info("Orchid import finished, {} rows, {} inserted, {} updated, {} failed",
+                tally.rows, tally.inserted, tally.updated, tally.failed);
+        return tally.toResult();
+    }
+
+    private MappingIterator<OrchidDto.OrchidRequest> open(InputStream in, OrchidDto.ImportFormat format)
+            throws IOException {
+        return switch (format) {
+            case CSV -> csvMapper.readerFor(OrchidDto.OrchidRequest.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(in);
+            case NDJSON -> objectMapper.readerFor(OrchidDto.OrchidRequest.class)
+                    .readValues(in);
+        };
+    }
+
+    private String validate(OrchidDto.OrchidRequest request) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<OrchidDto.OrchidRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations
+                .stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private ChunkResult write(List<Row> chunk) {
+        Map<String, Category> categoriesById = catalogCache.findCategories(chunk
+                .stream()
+                .map(row -> row.request().categoryId())
+                .distinct()
+                .toList());
+
+        List<OrchidDto.ImportError> errors = new ArrayList<>();
+        List<Row> written = new ArrayList<>(chunk.size());
+        List<Orchid> orchids = new ArrayList<>(chunk.size());
+        Set<String> names = new HashSet<>();
+        for (Row row : chunk) {
+            Category category = categoriesById.get(row.request().categoryId());
+            if (category == null) {
+                errors.add(new OrchidDto.ImportError(row.number(), "Category not found: " + row.request().categoryId()));
+                continue;
+            }
+            if (!names.add(row.request().name())) {
+                errors.add(new OrchidDto.ImportError(row.number(),
+                        "Duplicate name in import: " + row.request().name()));
+                continue;
+            }
+            written.add(row);
+            orchids.add(toOrchid(row.request(), category));
+        }
+        if (orchids.isEmpty()) {
+            return new ChunkResult(0, 0, errors);
+        }
+
+        BulkWriteResult result;
+        try {
+            result = orchidRepository.upsertAllByName(orchids);
+        } catch (BulkOperationException e) {
+            result = e.getResult();
+            e.getErrors().forEach(error -> {
+                Row row = written.get(error.getIndex());
+                errors.add(new OrchidDto.ImportError(row.number(), error.getCode() == DUPLICATE_KEY
+                        ? "Orchid name already exists: " + row.request().name()
+                        : error.getMessage()));
+            });
+        }
+
+        result.getUpserts().forEach(upsert -> {
+            Orchid orchid = orchids.get(upsert.getIndex());
+            orchid.setId(upsert.getId().asObjectId().getValue().toHexString());
+            orchidSuggester.put(orchid);
+        });
+        return new ChunkResult(result.getUpserts().size(), result.getMatchedCount(), errors);
+    }
+
+    private Orchid toOrchid(OrchidDto.OrchidRequest request, Category category) {
+        Orchid orchid = new Orchid();
+        orchid.setNatural(request.isNatural());
+        orchid.setDescription(request.description());
+        orchid.setName(request.name());
+        orchid.setUrl(request.url());
+        orchid.setPrice(request.price());
+        orchid.setAvailable(true);
+        orchid.setStockQuantity(request.stockQuantity());
+        orchid.setCategory(category);
+        return orchid;
+    }
+
+    private void await(Future<ChunkResult> pending, ImportTally tally) {
+        if (pending == null) {
+            return;
+        }
+        try {
+            tally.add(pending.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Orchid import was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Orchid import failed", e.getCause());
+        }
+    }
+
+    private record Row(long number, OrchidDto.OrchidRequest request) {
+    }
+
+    private record ChunkResult(long inserted, long updated, List<OrchidDto.ImportError> errors) {
+    }
+
+    private static class ImportTally {
+        private final int maxErrors;
+        private final List<OrchidDto.ImportError> errors = new ArrayList<>();
+        private long rows;
+        private long inserted;
+        private long updated;
+        private long failed;
+
+        ImportTally(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void accept() {
+            rows++;
+        }
+
+        void reject(long row, String message) {
+            rows++;
+            fail(new OrchidDto.ImportError(row, message));
+        }
+
+        void add(ChunkResult result) {
+            inserted += result.inserted();
+            updated += result.updated();
+            result.errors().forEach(this::fail);
+        }
+
+        private void fail(OrchidDto.ImportError error) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(error);
+            }
+        }
+
+        OrchidDto.ImportResult toResult() {
+            return new OrchidDto.ImportResult(rows, inserted, updated, failed, List.copyOf(errors));
+        }
+    }
+}
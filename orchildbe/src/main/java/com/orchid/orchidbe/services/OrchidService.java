@@ -1,16 +1,23 @@
 package com.orchid.orchidbe.services;
 
+import com.orchid.orchidbe.dto.FieldSelection;
 import com.orchid.orchidbe.dto.OrchidDto;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 public interface OrchidService {
 
-    List<OrchidDto.OrchidResponse> findAll();
-    List<OrchidDto.OrchidResponse> findAllAvailable();
+    List<OrchidDto.OrchidResponse> findAll(FieldSelection fields);
+    OrchidDto.OrchidPage findAllAvailable(OrchidDto.OrchidSearchRequest searchRequest, FieldSelection fields);
+    OrchidDto.OrchidPage search(String query, OrchidDto.OrchidSearchRequest searchRequest, FieldSelection fields);
+    List<OrchidDto.OrchidSuggestion> suggest(String prefix, int limit);
     OrchidDto.OrchidResponse findById(String id);
+    OrchidDto.OrchidBatch findAllById(List<String> ids);
     OrchidDto.OrchidResponse add(OrchidDto.OrchidRequest orchidRequest);
     OrchidDto.OrchidResponse update(String id, OrchidDto.OrchidRequest orchidRequest);
     void delete(String orchidId);
     void reactivate(String orchidId);
+    OrchidDto.ImportResult importOrchids(InputStream in, OrchidDto.ImportFormat format) throws IOException;
 }
@@ -1,13 +1,19 @@
 package com.orchid.orchidbe.services;
 
+import com.orchid.orchidbe.dto.FieldSelection;
 import com.orchid.orchidbe.dto.OrchidDto;
 import com.orchid.orchidbe.mappers.OrchidMapper;
 import com.orchid.orchidbe.pojos.Category;
 import com.orchid.orchidbe.pojos.Orchid;
-import com.orchid.orchidbe.repositories.CategoryRepository;
 import com.orchid.orchidbe.repositories.OrchidRepository;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -20,34 +26,102 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class OrchidServiceImpl implements OrchidService {
+    private static final int MAX_BATCH_SIZE = 500;
+
     OrchidRepository orchidRepository;
-    CategoryRepository categoryRepository;
     OrchidMapper orchidMapper;
+    StockLedger stockLedger;
+    CatalogCache catalogCache;
+    OrchidSuggester orchidSuggester;
+    OrchidImporter orchidImporter;
 
     @Override
-    public List<OrchidDto.OrchidResponse> findAll() {
-        return orchidRepository.findAll()
+    public List<OrchidDto.OrchidResponse> findAll(FieldSelection fields) {
+        List<Orchid> orchids = orchidRepository.findAllSelecting(fields);
+        if (fields.includes("category")) {
+            catalogCache.attachCategories(orchids);
+        }
+
+        return orchids
                 .stream()
                 .map(orchidMapper::toOrchidResponse)
                 .toList();
     }
 
     @Override
-    public List<OrchidDto.OrchidResponse> findAllAvailable() {
-        return orchidRepository.findAll()
-                .stream()
-                .filter(Orchid::isAvailable)
-                .map(orchidMapper::toOrchidResponse)
-                .toList();
+    public OrchidDto.OrchidPage findAllAvailable(OrchidDto.OrchidSearchRequest searchRequest, FieldSelection fields) {
+        validatePriceRange(searchRequest);
+        return orchidRepository.findAvailable(null, searchRequest, fields);
+    }
+
+    @Override
+    public OrchidDto.OrchidPage search(String query, OrchidDto.OrchidSearchRequest searchRequest,
+                                       FieldSelection fields) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be blank");
+        }
+        if (query.length() > 200) {
+            throw new IllegalArgumentException("Search query cannot exceed 200 characters");
+        }
+        if (searchRequest.cursor() != null) {
+            throw new IllegalArgumentException("Search results are paged by page number, not cursor");
+        }
+        validatePriceRange(searchRequest);
+        return orchidRepository.findAvailable(query.strip(), searchRequest, fields);
+    }
+
+    @Override
+    public List<OrchidDto.OrchidSuggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix cannot be blank");
+        }
+        if (prefix.length() > 100) {
+            throw new IllegalArgumentException("Prefix cannot exceed 100 characters");
+        }
+        return orchidSuggester.suggest(prefix, Math.max(limit, 1));
+    }
+
+    private void validatePriceRange(OrchidDto.OrchidSearchRequest searchRequest) {
+        if (searchRequest.minPrice() != null && searchRequest.maxPrice() != null
+                && searchRequest.minPrice() > searchRequest.maxPrice()) {
+            throw new IllegalArgumentException("Minimum price must not be greater than maximum price");
+        }
     }
 
     @Override
     public OrchidDto.OrchidResponse findById(String id) {
-        return orchidRepository.findById(id)
+        return catalogCache.findOrchid(id)
                 .map(orchidMapper::toOrchidResponse)
                 .orElseThrow(() -> new IllegalArgumentException("Orchid not found"));
     }
 
+    @Override
+    public OrchidDto.OrchidBatch findAllById(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Ids cannot be empty");
+        }
+        List<String> distinctIds = ids.stream().distinct().toList();
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Cannot request more than " + MAX_BATCH_SIZE + " orchids at once");
+        }
+
+        Map<String, OrchidDto.OrchidResponse> orchidsById = orchidRepository.findResponsesById(distinctIds)
+                .stream()
+                .collect(Collectors.toMap(OrchidDto.OrchidResponse::id, Function.identity()));
+
+        List<OrchidDto.OrchidResponse> orchids = new ArrayList<>(distinctIds.size());
+        List<String> missingIds = new ArrayList<>();
+        for (String id : distinctIds) {
+            OrchidDto.OrchidResponse orchid = orchidsById.get(id);
+            if (orchid == null) {
+                missingIds.add(id);
+            } else {
+                orchids.add(orchid);
+            }
+        }
+        return new OrchidDto.OrchidBatch(orchids, missingIds);
+    }
+
     @Override
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
@@ -56,7 +130,7 @@ public class OrchidServiceImpl implements OrchidService {
             throw new IllegalArgumentException("Orchid with name " + orchidRequest.name() + " already exists");
         }
 
-        Category category = categoryRepository.findById(orchidRequest.categoryId())
+        Category category = catalogCache.findCategory(orchidRequest.categoryId())
                 .orElseThrow(() -> new IllegalArgumentException("Category not found"));
 
         Orchid newOrchid = new Orchid();
@@ -66,9 +140,12 @@ public class OrchidServiceImpl implements OrchidService {
         newOrchid.setUrl(orchidRequest.url());
         newOrchid.setPrice(orchidRequest.price());
         newOrchid.setAvailable(true);
+        newOrchid.setStockQuantity(orchidRequest.stockQuantity());
         newOrchid.setCategory(category);
 
         orchidRepository.save(newOrchid);
+        catalogCache.evictOrchid(newOrchid.getId());
+        orchidSuggester.put(newOrchid);
 
         return orchidMapper.toOrchidResponse(newOrchid);
     }
@@ -84,7 +161,7 @@ public class OrchidServiceImpl implements OrchidService {
             throw new IllegalArgumentException("Orchid with name " + orchidRequest.name() + " already exists");
         }
 
-        Category category = categoryRepository.findById(orchidRequest.categoryId())
+        Category category = catalogCache.findCategory(orchidRequest.categoryId())
                 .orElseThrow(() -> new IllegalArgumentException("Category not found"));
 
         existingOrchid.setNatural(orchidRequest.isNatural());
@@ -94,7 +171,15 @@ public class OrchidServiceImpl implements OrchidService {
         existingOrchid.setPrice(orchidRequest.price());
         existingOrchid.setCategory(category);
 
-        orchidRepository.save(existingOrchid);
+        orchidRepository.updateDetails(existingOrchid);
+
+        if (orchidRequest.stockQuantity() != null) {
+            stockLedger.discard(id);
+            orchidRepository.setStock(id, orchidRequest.stockQuantity());
+            existingOrchid.setStockQuantity(orchidRequest.stockQuantity());
+        }
+        catalogCache.evictOrchid(id);
+        orchidSuggester.put(existingOrchid);
 
         return orchidMapper.toOrchidResponse(existingOrchid);
     }
@@ -103,23 +188,27 @@ public class OrchidServiceImpl implements OrchidService {
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public void delete(String orchidId) {
-        Orchid existingOrchid = orchidRepository.findById(orchidId)
-                .orElseThrow(() -> new IllegalArgumentException("Orchid not found"));
-
-        existingOrchid.setAvailable(false);
-
-        orchidRepository.save(existingOrchid);
+        if (!orchidRepository.setAvailable(orchidId, false)) {
+            throw new IllegalArgumentException("Orchid not found");
+        }
+        catalogCache.evictOrchid(orchidId);
+        orchidSuggester.remove(orchidId);
     }
 
     @Override
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public void reactivate(String orchidId) {
-        Orchid existingOrchid = orchidRepository.findById(orchidId)
-                .orElseThrow(() -> new IllegalArgumentException("Orchid not found"));
-
-        existingOrchid.setAvailable(true);
+        if (!orchidRepository.setAvailable(orchidId, true)) {
+            throw new IllegalArgumentException("Orchid not found");
+        }
+        catalogCache.evictOrchid(orchidId);
+        catalogCache.findOrchid(orchidId).ifPresent(orchidSuggester::put);
+    }
 
-        orchidRepository.save(existingOrchid);
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public OrchidDto.ImportResult importOrchids(InputStream in, OrchidDto.ImportFormat format) throws IOException {
+        return orchidImporter.importOrchids(in, format);
     }
 }
@@ -0,0 +1,331 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.dto.OrchidDto;
+import com.orchid.orchidbe.dto.SalesDto;
+import com.orchid.orchidbe.pojos.Orchid;
+import com.orchid.orchidbe.pojos.SalesRollup;
+import com.orchid.orchidbe.repositories.OrchidRepository;
+import com.orchid.orchidbe.repositories.SalesRollupRepository;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrchidSuggester {
+    private static final int BUCKET_SIZE = 16;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::popularity).reversed()
+            .thenComparing(Entry::key)
+            .thenComparing(Entry::orchidId);
+
+    OrchidRepository orchidRepository;
+    SalesRollupRepository salesRollupRepository;
+    int topK;
+    Node root = new Node('\0', 0);
+    Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public OrchidSuggester(OrchidRepository orchidRepository,
+                           SalesRollupRepository salesRollupRepository,
+                           @Value("${catalog.suggest.top-k:10}") int topK) {
+        this.orchidRepository = orchidRepository;
+        this.salesRollupRepository = salesRollupRepository;
+        this.topK = topK;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<String, Long> unitsByOrchid = salesRollupRepository.sumBy(SalesRollup.Scope.ORCHID, null, null)
+                .stream()
+                .collect(Collectors.toMap(SalesDto.SalesTotal::key, SalesDto.SalesTotal::units));
+
+        long loaded = 0;
+        try (Stream<Orchid> orchids = orchidRepository.streamAvailableNames()) {
+            for (Orchid orchid : (Iterable<Orchid>) orchids::iterator) {
+                put(orchid.getId(), orchid.getName(), unitsByOrchid.getOrDefault(orchid.getId(), 0L));
+                loaded++;
+            }
+        }
+        log.info("Loaded {} orchid names for suggestions", loaded);
+    }
+
+    public List<OrchidDto.OrchidSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        Node node = root;
+        Entry[] bucket = node.own;
+        while (node.split && node.depth < key.length()) {
+            node = node.child(key.charAt(node.depth));
+            if (node == null) {
+                return List.of();
+            }
+            bucket = node.own;
+        }
+
+        Stream<Entry> matches = node.depth == key.length()
+                ? Arrays.stream(node.top)
+                : Arrays.stream(bucket).filter(entry -> entry.key().startsWith(key)).sorted(RANKING);
+        return matches
+                .limit(Math.min(limit, topK))
+                .map(entry -> new OrchidDto.OrchidSuggestion(entry.orchidId(), entry.name()))
+                .toList();
+    }
+
+    public synchronized void put(Orchid orchid) {
+        if (!orchid.isAvailable()) {
+            remove(orchid.getId());
+            return;
+        }
+        Entry existing = entries.get(orchid.getId());
+        put(orchid.getId(), orchid.getName(), existing == null ? 0 : existing.popularity());
+    }
+
+    public synchronized void remove(String orchidId) {
+        Entry existing = entries.remove(orchidId);
+        if (existing != null) {
+            unlink(existing);
+        }
+    }
+
+    public synchronized void addSales(String orchidId, long units) {
+        Entry existing = entries.get(orchidId);
+        if (existing != null) {
+            put(orchidId, existing.name(), existing.popularity() + units);
+        }
+    }
+
+    private synchronized void put(String orchidId, String name, long popularity) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        Entry entry = new Entry(orchidId, name, normalize(name), popularity);
+        Entry existing = entries.put(orchidId, entry);
+        if (existing == null) {
+            link(entry);
+        } else if (existing.key().equals(entry.key()) && existing.popularity() <= entry.popularity()) {
+            promote(existing, entry);
+        } else {
+            unlink(existing);
+            link(entry);
+        }
+    }
+
+    private void link(Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        while (node.split && node.depth < entry.key().length()) {
+            node = node.childOrCreate(entry.key().charAt(node.depth));
+            path.add(node);
+        }
+
+        Entry[] own = Arrays.copyOf(node.own, node.own.length + 1);
+        own[own.length - 1] = entry;
+        node.own = own;
+        if (!node.split && own.length > BUCKET_SIZE) {
+            split(node);
+        }
+        for (Node step : path) {
+            step.top = offer(step.top, entry);
+        }
+    }
+
+    private void promote(Entry existing, Entry entry) {
+        List<Node> path = pathTo(existing);
+        if (path == null) {
+            return;
+        }
+
+        Node node = path.getLast();
+        node.own = Arrays.stream(node.own)
+                .map(own -> own.orchidId().equals(entry.orchidId()) ? entry : own)
+                .toArray(Entry[]::new);
+        for (Node step : path) {
+            step.top = offer(without(step.top, entry.orchidId()), entry);
+        }
+    }
+
+    private void unlink(Entry entry) {
+        List<Node> path = pathTo(entry);
+        if (path == null) {
+            return;
+        }
+
+        Node node = path.getLast();
+        node.own = without(node.own, entry.orchidId());
+        for (int i = path.size() - 1; i > 0 && path.get(i).own.length == 0 && path.get(i).children.length == 0; i--) {
+            path.get(i - 1).removeChild(path.get(i).label);
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node step = path.get(i);
+            if (Arrays.stream(step.top).anyMatch(top -> top.orchidId().equals(entry.orchidId()))) {
+                step.top = rank(step);
+            }
+        }
+    }
+
+    private List<Node> pathTo(Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        while (node.split && node.depth < entry.key().length()) {
+            node = node.child(entry.key().charAt(node.depth));
+            if (node == null) {
+                return null;
+            }
+            path.add(node);
+        }
+        return path;
+    }
+
+    private void split(Node node) {
+        Map<Character, List<Entry>> byLabel = new TreeMap<>();
+        List<Entry> remaining = new ArrayList<>();
+        for (Entry entry : node.own) {
+            if (entry.key().length() > node.depth) {
+                byLabel.computeIfAbsent(entry.key().charAt(node.depth), label -> new ArrayList<>()).add(entry);
+            } else {
+                remaining.add(entry);
+            }
+        }
+
+        List<Node> children = new ArrayList<>(byLabel.size());
+        byLabel.forEach((label, bucket) -> {
+            Node child = new Node(label, node.depth + 1);
+            child.own = bucket.toArray(Entry[]::new);
+            if (child.own.length > BUCKET_SIZE) {
+                split(child);
+            }
+            child.top = rank(child);
+            children.add(child);
+        });
+
+        node.children = children.toArray(Node[]::new);
+        node.split = true;
+        node.own = remaining.toArray(Entry[]::new);
+    }
+
+    private Entry[] rank(Node node) {
+        Stream<Entry> children = Arrays.stream(node.children).flatMap(child -> Arrays.stream(child.top));
+        return Stream.concat(Arrays.stream(node.own), children)
+                .sorted(RANKING)
+                .limit(topK)
+                .toArray(Entry[]::new);
+    }
+
+    private Entry[] offer(Entry[] top, Entry entry) {
+        int index = Arrays.binarySearch(top, entry, RANKING);
+        int insertAt = index < 0 ? -index - 1 : index;
+        if (insertAt >= topK) {
+            return top;
+        }
+
+        Entry[] ranked = new Entry[Math.min(top.length + 1, topK)];
+        System.arraycopy(top, 0, ranked, 0, insertAt);
+        ranked[insertAt] = entry;
+        System.arraycopy(top, insertAt, ranked, insertAt + 1, ranked.length - insertAt - 1);
+        return ranked;
+    }
+
+    private static Entry[] without(Entry[] entries, String orchidId) {
+        return Arrays.stream(entries)
+                .filter(entry -> !entry.orchidId().equals(orchidId))
+                .toArray(Entry[]::new);
+    }
+
+    private static String normalize(String text) {
+        return WHITESPACE.matcher(text.strip().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    private record Entry(
+            String orchidId,
+            String name,
+            String key,
+            long popularity) {
+    }
+
+    private static final class Node {
+        final char label;
+        final int depth;
+        volatile boolean split;
+        volatile Node[] children = NO_CHILDREN;
+        volatile Entry[] own = NO_ENTRIES;
+        volatile Entry[] top = NO_ENTRIES;
+
+        Node(char label, int depth) {
+            this.label = label;
+            this.depth = depth;
+        }
+
+        Node child(char label) {
+            Node[] nodes = children;
+            int index = indexOf(nodes, label);
+            return index < 0 ? null : nodes[index];
+        }
+
+        Node childOrCreate(char label) {
+            Node[] nodes = children;
+            int index = indexOf(nodes, label);
+            if (index >= 0) {
+                return nodes[index];
+            }
+
+            int insertAt = -index - 1;
+            Node child = new Node(label, depth + 1);
+            Node[] grown = new Node[nodes.length + 1];
+            System.arraycopy(nodes, 0, grown, 0, insertAt);
+            grown[insertAt] = child;
+            System.arraycopy(nodes, insertAt, grown, insertAt + 1, nodes.length - insertAt);
+            children = grown;
+            return child;
+        }
+
+        void removeChild(char label) {
+            Node[] nodes = children;
+            int index = indexOf(nodes, label);
+            if (index < 0) {
+                return;
+            }
+
+            Node[] shrunk = new Node[nodes.length - 1];
+            System.arraycopy(nodes, 0, shrunk, 0, index);
+            System.arraycopy(nodes, index + 1, shrunk, index, nodes.length - index - 1);
+            children = shrunk;
+        }
+
+        private static int indexOf(Node[] nodes, char label) {
+            int low = 0;
+            int high = nodes.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midLabel = nodes[mid].label;
+                if (midLabel < label) {
+                    low = mid + 1;
+                } else if (midLabel > label) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
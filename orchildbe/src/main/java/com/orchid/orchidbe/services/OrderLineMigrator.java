@@ -0,0 +1,157 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.pojos.Order;
+import com.orchid.orchidbe.pojos.OrderDetail;
+import com.orchid.orchidbe.pojos.OrderLine;
+import com.orchid.orchidbe.repositories.OrderDetailRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrderLineMigrator {
+    MongoTemplate mongoTemplate;
+    OrderDetailRepository orderDetailRepository;
+    LegacyOrderLines legacyOrderLines;
+
+    @NonFinal
+    @Value("${orders.migration.enabled:false}")
+    boolean enabled;
+
+    @NonFinal
+    @Value("${orders.migration.delete-legacy:false}")
+    boolean deleteLegacy;
+
+    @NonFinal
+    @Value("${orders.migration.batch-size:500}")
+    int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInBackground() {
+        if (enabled || deleteLegacy) {
+            Thread.ofVirtual().name("order-line-migrator").start(() -> {
+                if (enabled) {
+                    migrate();
+                }
+                if (deleteLegacy) {
+                    deleteMigratedDetails();
+                }
+            });
+        }
+    }
+
+    public long migrate() {
+        long migrated = 0;
+        List<String> orderIds = nextBatch(null);
+        while (!orderIds.isEmpty()) {
+            migrated += migrateBatch(orderIds);
+            orderIds = nextBatch(orderIds.getLast());
+        }
+        log.info("Order line migration finished, {} orders migrated", migrated);
+        return migrated;
+    }
+
+    public long deleteMigratedDetails() {
+        long deleted = 0;
+        long kept = 0;
+        List<OrderDetail> details = nextDetailBatch(null);
+        while (!details.isEmpty()) {
+            List<String> verifiedIds = verifiedDetailIds(details);
+            if (!verifiedIds.isEmpty()) {
+                orderDetailRepository.deleteAllById(verifiedIds);
+            }
+            deleted += verifiedIds.size();
+            kept += details.size() - verifiedIds.size();
+            details = nextDetailBatch(details.getLast().getId());
+        }
+        log.info("Legacy order detail cleanup finished, {} deleted, {} kept because they are not embedded in their order",
+                deleted, kept);
+        return deleted;
+    }
+
+    private List<String> nextBatch(String afterId) {
+        Criteria criteria = Criteria.where("orderLines").exists(false);
+        if (afterId != null) {
+            criteria = criteria.and("_id").gt(afterId);
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by("_id"))
+                .limit(batchSize);
+        query.fields().include("_id");
+
+        return mongoTemplate.find(query, Order.class)
+                .stream()
+                .map(Order::getId)
+                .toList();
+    }
+
+    private int migrateBatch(List<String> orderIds) {
+        Map<String, List<OrderLine>> linesByOrderId = legacyOrderLines.findByOrderIds(orderIds);
+
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class);
+        for (String orderId : orderIds) {
+            bulkOperations.updateOne(
+                    Query.query(Criteria.where("_id").is(orderId).and("orderLines").exists(false)),
+                    new Update().set("orderLines", linesByOrderId.getOrDefault(orderId, List.of())));
+        }
+        return bulkOperations.execute().getModifiedCount();
+    }
+
+    private List<OrderDetail> nextDetailBatch(String afterId) {
+        Query query = new Query()
+                .with(Sort.by("_id"))
+                .limit(batchSize);
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("_id").gt(afterId));
+        }
+        return mongoTemplate.find(query, OrderDetail.class);
+    }
+
+    private List<String> verifiedDetailIds(List<OrderDetail> details) {
+        List<String> orderIds = details.stream().map(OrderDetail::getOrderId).distinct().toList();
+        Query query = Query.query(Criteria.where("_id").in(orderIds).and("orderLines").exists(true));
+        query.fields().include("orderLines");
+
+        Map<String, Map<String, OrderLine>> embeddedLines = mongoTemplate.find(query, Order.class)
+                .stream()
+                .collect(Collectors.toMap(
+                        Order::getId,
+                        order -> order.getOrderLines()
+                                .stream()
+                                .filter(line -> line.getId() != null)
+                                .collect(Collectors.toMap(OrderLine::getId, Function.identity(), (left, right) -> left))));
+
+        return details.stream()
+                .filter(detail -> isEmbedded(detail, embeddedLines.getOrDefault(detail.getOrderId(), Map.of())))
+                .map(OrderDetail::getId)
+                .toList();
+    }
+
+    private static boolean isEmbedded(OrderDetail detail, Map<String, OrderLine> linesById) {
+        OrderLine line = linesById.get(detail.getId());
+        return line != null
+                && line.getOrchidId() != null
+                && line.getOrchidId().equals(detail.getOrchidId())
+                && line.getQuantity() == detail.getQuantity();
+    }
+}
@@ -1,14 +1,18 @@
 package com.orchid.orchidbe.services;
 
+import com.orchid.orchidbe.dto.FieldSelection;
 import com.orchid.orchidbe.dto.OrderDto;
+import com.orchid.orchidbe.dto.SalesDto;
 
-import java.util.List;
+import java.util.stream.Stream;
 
 public interface OrderService {
 
-    List<OrderDto.OrderResponse> findAll();
+    OrderDto.OrderPage findAll(OrderDto.OrderPageRequest pageRequest, FieldSelection fields);
     OrderDto.OrderResponse findById(String id);
-    List<OrderDto.OrderResponse> findByAccount();
+    OrderDto.OrderPage findByAccount(OrderDto.OrderPageRequest pageRequest, FieldSelection fields);
+    Stream<OrderDto.OrderResponse> export(OrderDto.OrderPageRequest filter);
+    SalesDto.SalesReport report(SalesDto.SalesReportRequest reportRequest);
     OrderDto.OrderResponse add(OrderDto.OrderRequest order);
     OrderDto.OrderResponse update(OrderDto.OrderRequest order, String id);
     void delete(String id);
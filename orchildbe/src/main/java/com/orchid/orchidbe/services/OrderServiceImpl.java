@@ -1,17 +1,21 @@
 package com.orchid.orchidbe.services;
 
+import com.orchid.orchidbe.dto.FieldSelection;
+import com.orchid.orchidbe.dto.OrderDetailDto;
 import com.orchid.orchidbe.dto.OrderDto;
+import com.orchid.orchidbe.dto.SalesDto;
 import com.orchid.orchidbe.mappers.OrderMapper;
 import com.orchid.orchidbe.pojos.Account;
 import com.orchid.orchidbe.pojos.Orchid;
 import com.orchid.orchidbe.pojos.Order;
 import com.orchid.orchidbe.pojos.OrderDetail;
-import com.orchid.orchidbe.repositories.OrchidRepository;
+import com.orchid.orchidbe.pojos.OrderLine;
 import com.orchid.orchidbe.repositories.OrderDetailRepository;
 import com.orchid.orchidbe.repositories.OrderRepository;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.bson.types.ObjectId;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContext;
@@ -19,51 +23,127 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class OrderServiceImpl implements OrderService {
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     OrderRepository orderRepository;
     OrderDetailRepository orderDetailRepository;
-    OrchidRepository orchidRepository;
+    CatalogCache catalogCache;
     OrderMapper orderMapper;
+    StockReservationService stockReservationService;
+    OrderWritePipeline orderWritePipeline;
+    SalesRollupService salesRollupService;
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
-    public List<OrderDto.OrderResponse> findAll() {
-        List<Order> orders = orderRepository.findAll();
-
-        return orders
-                .stream()
-                .map(order -> {
-                    List<OrderDetail> orderDetails = orderDetailRepository.findByOrderId(order.getId());
-                    return orderMapper.toOrderResponse(order, orderDetails);
-                })
-                .toList();
+    public OrderDto.OrderPage findAll(OrderDto.OrderPageRequest pageRequest, FieldSelection fields) {
+        return toOrderPage(orderRepository.findPage(null, pageRequest, fields), pageRequest.limit(), fields);
     }
 
     @Override
     @PostAuthorize("returnObject.accountId().equals(authentication.principal.id) or hasRole('ADMIN')")
     public OrderDto.OrderResponse findById(String id) {
         return orderRepository.findById(id)
-                .map(order -> {
-                    List<OrderDetail> orderDetails = orderDetailRepository.findByOrderId(order.getId());
-                    return orderMapper.toOrderResponse(order, orderDetails);
-                })
+                .map(this::toOrderResponse)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found with ID: " + id));
     }
 
     @Override
-    public List<OrderDto.OrderResponse> findByAccount() {
-        return orderRepository.findAllByAccount_Id(this.getCurrentAccount().getId())
+    public OrderDto.OrderPage findByAccount(OrderDto.OrderPageRequest pageRequest, FieldSelection fields) {
+        return toOrderPage(
+                orderRepository.findPage(getCurrentAccount().getId(), pageRequest, fields), pageRequest.limit(), fields);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public Stream<OrderDto.OrderResponse> export(OrderDto.OrderPageRequest filter) {
+        Stream<Order> orders = orderRepository.stream(filter);
+        Iterator<Order> iterator = orders.iterator();
+
+        return Stream.iterate(nextChunk(iterator), chunk -> !chunk.isEmpty(), chunk -> nextChunk(iterator))
+                .flatMap(chunk -> toOrderResponses(chunk, FieldSelection.ALL).stream())
+                .onClose(orders::close);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public SalesDto.SalesReport report(SalesDto.SalesReportRequest reportRequest) {
+        LocalDate from = reportRequest.from();
+        LocalDate to = reportRequest.to();
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Report start date must not be after the end date");
+        }
+
+        return orderRepository.salesReport(
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay(),
+                reportRequest.topLimit());
+    }
+
+    private List<Order> nextChunk(Iterator<Order> iterator) {
+        List<Order> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        while (chunk.size() < EXPORT_CHUNK_SIZE && iterator.hasNext()) {
+            chunk.add(iterator.next());
+        }
+        return chunk;
+    }
+
+    private OrderDto.OrderPage toOrderPage(List<Order> orders, int limit, FieldSelection fields) {
+        if (orders.size() <= limit) {
+            return new OrderDto.OrderPage(toOrderResponses(orders, fields), null);
+        }
+
+        List<Order> page = orders.subList(0, limit);
+        Order last = page.getLast();
+        return new OrderDto.OrderPage(
+                toOrderResponses(page, fields),
+                new OrderDto.OrderCursor(last.getOrderDate(), last.getId()).encode());
+    }
+
+    private OrderDto.OrderResponse toOrderResponse(Order order) {
+        if (order.hasEmbeddedLines()) {
+            return orderMapper.toOrderResponse(order);
+        }
+        return orderMapper.toOrderResponse(order, orderDetailRepository.findByOrderId(order.getId()));
+    }
+
+    private List<OrderDto.OrderResponse> toOrderResponses(List<Order> orders, FieldSelection fields) {
+        if (!fields.includes("orderDetails")) {
+            return orders
+                    .stream()
+                    .map(order -> orderMapper.toOrderResponse(order, List.of()))
+                    .toList();
+        }
+
+        List<String> legacyOrderIds = orders
                 .stream()
-                .map(order -> {
-                    List<OrderDetail> orderDetails = orderDetailRepository.findByOrderId(order.getId());
-                    return orderMapper.toOrderResponse(order, orderDetails);
-                })
+                .filter(order -> !order.hasEmbeddedLines())
+                .map(Order::getId)
+                .toList();
+
+        Map<String, List<OrderDetail>> detailsByOrderId = legacyOrderIds.isEmpty()
+                ? Map.of()
+                : orderDetailRepository.findAllByOrder_IdIn(legacyOrderIds)
+                        .stream()
+                        .collect(Collectors.groupingBy(OrderDetail::getOrderId));
+
+        return orders
+                .stream()
+                .map(order -> order.hasEmbeddedLines()
+                        ? orderMapper.toOrderResponse(order)
+                        : orderMapper.toOrderResponse(order, detailsByOrderId.getOrDefault(order.getId(), List.of())))
                 .toList();
     }
 
@@ -85,102 +165,139 @@ public class OrderServiceImpl implements OrderService {
         newOrder.setOrderStatus(Order.OrderStatus.PENDING);
         newOrder.setAccount(account);
         newOrder.setOrderDate(LocalDateTime.now());
-        newOrder.setTotalAmount(0.0);
-
-        orderRepository.save(newOrder);
-
-        double totalAmount = 0;
-        List<OrderDetail> details = orderRequest.orderDetails()
-                .stream()
-                .map(orderDetailRequest -> {
-                    OrderDetail orderDetail = new OrderDetail();
-                    Orchid orchid = orchidRepository.findById(orderDetailRequest.productId())
-                            .orElseThrow(() -> new IllegalArgumentException("Orchid not found with ID: " + orderDetailRequest.productId()));
-                    orderDetail.setOrder(newOrder);
-                    orderDetail.setOrchid(orchid);
-                    orderDetail.setPrice(orchid.getPrice());
-                    orderDetail.setQuantity(orderDetailRequest.quantity());
-                    return orderDetail;
-                })
-                .toList();
-
-        for (OrderDetail detail : details) {
-            totalAmount += detail.getPrice() * detail.getQuantity();
+        newOrder.setOrderLines(toOrderLines(orderRequest));
+        newOrder.setTotalAmount(totalAmountOf(newOrder.getOrderLines()));
+
+        stockReservationService.reserve(newOrder.getOrderLines());
+        newOrder.setReservationExpiresAt(stockReservationService.expiresAt(newOrder.getOrderLines()));
+        try {
+            return orderMapper.toOrderResponse(insert(newOrder));
+        } catch (RuntimeException e) {
+            stockReservationService.release(newOrder.getOrderLines());
+            throw e;
         }
+    }
 
-        orderDetailRepository.saveAll(details);
-
-        newOrder.setTotalAmount(totalAmount);
-        orderRepository.save(newOrder);
-
-        return orderMapper.toOrderResponse(newOrder, details);
+    private Order insert(Order order) {
+        if (!orderWritePipeline.isEnabled()) {
+            return orderRepository.insert(order);
+        }
+        order.setId(new ObjectId().toHexString());
+        return orderWritePipeline.insert(order);
     }
 
     @Override
     @Transactional
     public OrderDto.OrderResponse update(OrderDto.OrderRequest orderRequest, String id) {
-        Order existingOrder = orderRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Order not found with ID: " + id));
-        if (!existingOrder.getOrderStatus().equals(Order.OrderStatus.PENDING)) {
-            throw new IllegalArgumentException("Order is not in PENDING status and cannot be updated");
+        String accountId = isAdmin() ? null : getCurrentAccount().getId();
+        List<OrderLine> orderLines = toOrderLines(orderRequest);
+        double totalAmount = totalAmountOf(orderLines);
+
+        LocalDateTime reservationExpiresAt = stockReservationService.expiresAt(orderLines);
+
+        stockReservationService.reserve(orderLines);
+        Order previousOrder = orderRepository.replacePendingLines(
+                id, accountId, orderLines, totalAmount, reservationExpiresAt);
+        if (previousOrder == null) {
+            stockReservationService.release(orderLines);
+            throw transitionFailure(id, accountId,
+                    "Order is not in PENDING status and cannot be updated",
+                    "You are not authorized to update this order");
         }
 
-        orderDetailRepository.deleteAllByOrder_Id(id);
+        if (previousOrder.hasEmbeddedLines()) {
+            stockReservationService.release(previousOrder.getOrderLines());
+        } else {
+            orderDetailRepository.deleteAllByOrder_Id(id);
+        }
 
-        double totalAmount = 0;
-        List<OrderDetail> details = orderRequest.orderDetails()
+        previousOrder.setOrderLines(orderLines);
+        previousOrder.setTotalAmount(totalAmount);
+        previousOrder.setReservationExpiresAt(reservationExpiresAt);
+        return orderMapper.toOrderResponse(previousOrder);
+    }
+
+    private List<OrderLine> toOrderLines(OrderDto.OrderRequest orderRequest) {
+        Map<String, Orchid> orchidsById = catalogCache.findOrchids(orderRequest.orderDetails()
+                .stream()
+                .map(OrderDetailDto.OrderDetail::productId)
+                .distinct()
+                .toList());
+
+        return orderRequest.orderDetails()
                 .stream()
                 .map(orderDetailRequest -> {
-                    OrderDetail orderDetail = new OrderDetail();
-                    orderDetail.setOrder(existingOrder);
-                    orderDetail.setOrchid(orchidRepository.findById(orderDetailRequest.productId())
-                            .orElseThrow(() -> new IllegalArgumentException("Orchid not found with ID: " + orderDetailRequest.productId())));
-                    orderDetail.setQuantity(orderDetailRequest.quantity());
-                    return orderDetail;
+                    Orchid orchid = orchidsById.get(orderDetailRequest.productId());
+                    if (orchid == null) {
+                        throw new IllegalArgumentException("Orchid not found with ID: " + orderDetailRequest.productId());
+                    }
+                    if (!orchid.isAvailable()) {
+                        throw new IllegalArgumentException("Orchid is not available: " + orchid.getName());
+                    }
+                    return new OrderLine(
+                            new ObjectId().toHexString(),
+                            orchid.getId(),
+                            orchid.getName(),
+                            orchid.getCategoryId(),
+                            orchid.getPrice(),
+                            orderDetailRequest.quantity(),
+                            orchid.getStockQuantity() != null);
                 })
                 .toList();
+    }
 
-        for (OrderDetail detail : details) {
-            totalAmount += detail.getOrchid().getPrice() * detail.getQuantity();
+    private double totalAmountOf(List<OrderLine> orderLines) {
+        double totalAmount = 0;
+        for (OrderLine line : orderLines) {
+            totalAmount += line.getPrice() * line.getQuantity();
         }
-
-        orderDetailRepository.saveAll(details);
-
-        existingOrder.setTotalAmount(totalAmount);
-
-        return orderMapper.toOrderResponse(existingOrder, details);
+        return totalAmount;
     }
 
     @Override
     public void delete(String id) {
-        Order existingOrder = orderRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Order not found with ID: " + id));
+        String accountId = isAdmin() ? null : getCurrentAccount().getId();
 
-        existingOrder.setOrderStatus(Order.OrderStatus.CANCELLED);
+        Order cancelledOrder = orderRepository.transitionStatus(
+                id, accountId, Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED);
+        if (cancelledOrder == null) {
+            throw transitionFailure(id, accountId,
+                    "Order is not in PENDING status", "You are not authorized to cancel this order");
+        }
 
-        orderRepository.save(existingOrder);
+        stockReservationService.release(cancelledOrder.getOrderLines());
     }
 
     @Override
-    @Transactional
     public OrderDto.OrderResponse pay(String id) {
-        Order existingOrder = orderRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Order not found with ID: " + id));
+        String accountId = getCurrentAccount().getId();
 
-        if (existingOrder.getOrderStatus() != Order.OrderStatus.PENDING) {
-            throw new IllegalArgumentException("Order is not in PENDING status");
+        Order paidOrder = orderRepository.transitionStatus(
+                id, accountId, Order.OrderStatus.PENDING, Order.OrderStatus.COMPLETED);
+        if (paidOrder == null) {
+            throw transitionFailure(id, accountId,
+                    "Order is not in PENDING status", "You are not authorized to pay this order");
         }
 
-        Account account = existingOrder.getAccount();
-        if (!account.getId().equals(getCurrentAccount().getId())) {
-            throw new IllegalArgumentException("You are not authorized to pay this order");
-        }
-
-        existingOrder.setOrderStatus(Order.OrderStatus.COMPLETED);
-        orderRepository.save(existingOrder);
+        salesRollupService.record(paidOrder);
+        return toOrderResponse(paidOrder);
+    }
 
-        List<OrderDetail> orderDetails = orderDetailRepository.findByOrderId(existingOrder.getId());
+    private IllegalArgumentException transitionFailure(String id, String accountId,
+                                                       String notPendingMessage, String notOwnerMessage) {
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found with ID: " + id));
+        if (accountId != null && !accountId.equals(order.getAccountId())) {
+            return new IllegalArgumentException(notOwnerMessage);
+        }
+        return new IllegalArgumentException(notPendingMessage);
+    }
 
-        return orderMapper.toOrderResponse(existingOrder, orderDetails);
+    private boolean isAdmin() {
+        return SecurityContextHolder.getContext()
+                .getAuthentication()
+                .getAuthorities()
+                .stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
     }
 }
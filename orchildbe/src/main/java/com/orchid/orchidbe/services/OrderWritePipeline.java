@@ -0,0 +1,236 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.pojos.Order;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OrderWritePipeline {
+    MongoTemplate mongoTemplate;
+    boolean enabled;
+    int maxBatchSize;
+    Duration maxDelay;
+    Duration offerTimeout;
+    Duration writeTimeout;
+    Duration shutdownTimeout;
+    BlockingQueue<PendingWrite> queue;
+    DistributionSummary batchSize;
+    Timer queueWait;
+
+    @NonFinal
+    volatile boolean running;
+
+    @NonFinal
+    Thread writer;
+
+    public OrderWritePipeline(MongoTemplate mongoTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${orders.write-pipeline.enabled:false}") boolean enabled,
+                              @Value("${orders.write-pipeline.max-batch-size:100}") int maxBatchSize,
+                              @Value("${orders.write-pipeline.max-delay:PT0.005S}") Duration maxDelay,
+                              @Value("${orders.write-pipeline.queue-capacity:10000}") int queueCapacity,
+                              @Value("${orders.write-pipeline.offer-timeout:PT0.1S}") Duration offerTimeout,
+                              @Value("${orders.write-pipeline.write-timeout:PT5S}") Duration writeTimeout,
+                              @Value("${orders.write-pipeline.shutdown-timeout:PT10S}") Duration shutdownTimeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.offerTimeout = offerTimeout;
+        this.writeTimeout = writeTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = DistributionSummary.builder("orders.write.batch.size")
+                .description("Orders written per bulk insert")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("orders.write.queue.wait")
+                .description("Time an order waits in the write queue")
+                .register(meterRegistry);
+        meterRegistry.gauge("orders.write.queue.depth", queue, BlockingQueue::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            running = true;
+            writer = Thread.ofPlatform().name("order-writer").daemon().start(this::runWriter);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(shutdownTimeout);
+            if (writer.isAlive()) {
+                writer.interrupt();
+                writer.join(shutdownTimeout);
+            }
+        }
+    }
+
+    public Order insert(Order order) {
+        PendingWrite write = new PendingWrite(order, new CompletableFuture<>(), new AtomicBoolean(), System.nanoTime());
+        try {
+            if (!running || !queue.offer(write, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw unavailable("Order queue is full, please retry");
+            }
+            if (!running && write.claim()) {
+                queue.remove(write);
+                throw unavailable("Order writer is stopping, please retry");
+            }
+            return write.result().get(writeTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (write.claim()) {
+                queue.remove(write);
+                throw unavailable("Interrupted while writing order");
+            }
+            return awaitClaimed(write);
+        } catch (TimeoutException e) {
+            if (write.claim()) {
+                queue.remove(write);
+                throw unavailable("Timed out writing order, please retry");
+            }
+            return awaitClaimed(write);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private Order awaitClaimed(PendingWrite write) {
+        try {
+            return write.result().join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private void runWriter() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while ((running || !queue.isEmpty()) && !Thread.currentThread().isInterrupted()) {
+                try {
+                    PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null || !first.claim()) {
+                        continue;
+                    }
+                    batch.add(first);
+
+                    long deadline = System.nanoTime() + maxDelay.toNanos();
+                    while (batch.size() < maxBatchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                        if (next == null) {
+                            break;
+                        }
+                        if (next.claim()) {
+                            batch.add(next);
+                        }
+                    }
+
+                    write(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    fail(batch);
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("Order write pipeline failed", e);
+                    batch.forEach(write -> write.result().completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        } finally {
+            running = false;
+            List<PendingWrite> drained = new ArrayList<>();
+            queue.drainTo(drained);
+            List<PendingWrite> abandoned = drained.stream().filter(PendingWrite::claim).toList();
+            if (!abandoned.isEmpty()) {
+                log.warn("Order writer stopped with {} queued orders, failing them", abandoned.size());
+            }
+            fail(abandoned);
+        }
+    }
+
+    private void fail(List<PendingWrite> writes) {
+        writes.forEach(write -> write.result()
+                .completeExceptionally(unavailable("Order writer stopped, please retry")));
+    }
+
+    private void write(List<PendingWrite> batch) {
+        long now = System.nanoTime();
+        batch.forEach(write -> queueWait.record(now - write.enqueuedAt(), TimeUnit.NANOSECONDS));
+        batchSize.record(batch.size());
+
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class);
+        bulkOperations.insert(batch.stream().map(PendingWrite::order).toList());
+
+        try {
+            bulkOperations.execute();
+            batch.forEach(write -> write.result().complete(write.order()));
+        } catch (BulkOperationException e) {
+            boolean[] failed = new boolean[batch.size()];
+            e.getErrors().forEach(error -> {
+                failed[error.getIndex()] = true;
+                batch.get(error.getIndex()).result()
+                        .completeExceptionally(new IllegalArgumentException(error.getMessage()));
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                if (!failed[i]) {
+                    batch.get(i).result().complete(batch.get(i).order());
+                }
+            }
+        }
+    }
+
+    private static ResponseStatusException unavailable(String message) {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, message);
+    }
+
+    private record PendingWrite(Order order, CompletableFuture<Order> result, AtomicBoolean claimed, long enqueuedAt) {
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
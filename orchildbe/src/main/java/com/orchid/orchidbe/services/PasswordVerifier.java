@@ -0,0 +1,95 @@
+package com.orchid.orchidbe.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PasswordVerifier {
+    PasswordEncoder passwordEncoder;
+    Duration timeout;
+    ThreadPoolExecutor executor;
+    Timer verifyTimer;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            MeterRegistry meterRegistry,
+                            @Value("${security.login.threads:4}") int threads,
+                            @Value("${security.login.queue-capacity:64}") int queueCapacity,
+                            @Value("${security.login.timeout:PT5S}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-verifier-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.verifyTimer = Timer.builder("login.password.verify")
+                .description("Time spent verifying a password hash")
+                .register(meterRegistry);
+        meterRegistry.gauge("login.password.queue.depth", executor.getQueue(), BlockingQueue::size);
+    }
+
+    public Verification verify(String rawPassword, String encodedPassword) {
+        Future<Verification> verification;
+        try {
+            verification = executor.submit(() -> verifyTimer.record(() -> check(rawPassword, encodedPassword)));
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many login attempts, please retry");
+        }
+
+        try {
+            return verification.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            verification.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Login timed out, please retry");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            verification.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while verifying password");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Verification check(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null || !passwordEncoder.matches(rawPassword, encodedPassword)) {
+            return new Verification(false, null);
+        }
+        if (!passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return new Verification(true, null);
+        }
+        return new Verification(true, passwordEncoder.encode(rawPassword));
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public record Verification(boolean matches, String upgradedPassword) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.orchid.orchidbe.services;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RateLimiter {
+    private static final int STRIPES = 64;
+
+    boolean enabled;
+    long idleTimeoutNanos;
+    Map<Scope, Limit> limits = new EnumMap<>(Scope.class);
+    Map<Scope, Stripe[]> stripes = new EnumMap<>(Scope.class);
+
+    public RateLimiter(@Value("${rate-limit.enabled:true}") boolean enabled,
+                       @Value("${rate-limit.idle-timeout:PT10M}") Duration idleTimeout,
+                       @Value("${rate-limit.login.per-ip:20/PT1M}") String loginPerIp,
+                       @Value("${rate-limit.login.per-email:5/PT1M}") String loginPerEmail,
+                       @Value("${rate-limit.api.per-ip:600/PT1M}") String apiPerIp,
+                       @Value("${rate-limit.api.per-account:300/PT1M}") String apiPerAccount) {
+        this.enabled = enabled;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        limits.put(Scope.LOGIN_IP, Limit.parse(loginPerIp));
+        limits.put(Scope.LOGIN_EMAIL, Limit.parse(loginPerEmail));
+        limits.put(Scope.API_IP, Limit.parse(apiPerIp));
+        limits.put(Scope.API_ACCOUNT, Limit.parse(apiPerAccount));
+        for (Scope scope : Scope.values()) {
+            Stripe[] scopeStripes = new Stripe[STRIPES];
+            for (int i = 0; i < STRIPES; i++) {
+                scopeStripes[i] = new Stripe();
+            }
+            stripes.put(scope, scopeStripes);
+        }
+    }
+
+    public long tryAcquire(Scope scope, String key) {
+        if (!enabled || key == null) {
+            return 0;
+        }
+        Limit limit = limits.get(scope);
+        Stripe stripe = stripes.get(scope)[Math.floorMod(key.hashCode(), STRIPES)];
+        long now = System.nanoTime();
+
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(limit.capacity(), now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                bucket.refill(limit, now);
+            }
+
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                bucket.fullAt = now + (long) ((limit.capacity() - bucket.tokens) * limit.nanosPerToken());
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) * limit.nanosPerToken());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval:PT1M}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Stripe[] scopeStripes : stripes.values()) {
+            for (Stripe stripe : scopeStripes) {
+                synchronized (stripe) {
+                    stripe.buckets.values().removeIf(bucket ->
+                            now - bucket.updatedAt > idleTimeoutNanos && now - bucket.fullAt >= 0);
+                }
+            }
+        }
+    }
+
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    public enum Scope {
+        LOGIN_IP,
+        LOGIN_EMAIL,
+        API_IP,
+        API_ACCOUNT
+    }
+
+    public record Limit(int capacity, Duration period) {
+        public static Limit parse(String value) {
+            int separator = value.indexOf('/');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Rate limit must look like <capacity>/<period>: " + value);
+            }
+            Limit limit = new Limit(
+                    Integer.parseInt(value.substring(0, separator).strip()),
+                    Duration.parse(value.substring(separator + 1).strip()));
+            if (limit.capacity() <= 0 || limit.period().isNegative() || limit.period().isZero()) {
+                throw new IllegalArgumentException("Rate limit must have a positive capacity and period: " + value);
+            }
+            return limit;
+        }
+
+        double nanosPerToken() {
+            return (double) period.toNanos() / capacity;
+        }
+    }
+
+    private static final class Stripe {
+        final Map<String, Bucket> buckets = new HashMap<>();
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long updatedAt;
+        long fullAt;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.updatedAt = now;
+            this.fullAt = now;
+        }
+
+        void refill(Limit limit, long now) {
+            tokens = Math.min(limit.capacity(), tokens + (now - updatedAt) / limit.nanosPerToken());
+            updatedAt = now;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.pojos.RevokedToken;
+import com.orchid.orchidbe.repositories.RevokedTokenRepository;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RevocationList {
+    RevokedTokenRepository revokedTokenRepository;
+    long expectedEntries;
+    double falsePositiveRate;
+    Duration clockSkew;
+
+    @NonFinal
+    volatile BloomFilter filter;
+
+    @NonFinal
+    volatile boolean loaded;
+
+    @NonFinal
+    volatile Instant lastPoll = Instant.EPOCH;
+
+    public RevocationList(RevokedTokenRepository revokedTokenRepository,
+                          @Value("${jwt.revocation.expected-entries:100000}") long expectedEntries,
+                          @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                          @Value("${jwt.revocation.clock-skew:PT5S}") Duration clockSkew) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clockSkew = clockSkew;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (loaded && !filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(tokenId);
+    }
+
+    public boolean revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null) {
+            return false;
+        }
+        try {
+            revokedTokenRepository.insert(new RevokedToken(tokenId, expiresAt, Instant.now()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        } finally {
+            filter.put(tokenId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:PT1H}",
+            initialDelayString = "${jwt.revocation.rebuild-interval:PT1H}")
+    public void rebuild() {
+        Instant startedAt = Instant.now();
+        BloomFilter rebuilt = new BloomFilter(expectedEntries, falsePositiveRate);
+
+        long revoked = 0;
+        try (Stream<RevokedToken> tokens = revokedTokenRepository.streamByExpiresAtAfter(startedAt)) {
+            for (RevokedToken token : (Iterable<RevokedToken>) tokens::iterator) {
+                rebuilt.put(token.getId());
+                revoked++;
+            }
+        }
+
+        filter = rebuilt;
+        lastPoll = startedAt;
+        pollRevocations();
+        loaded = true;
+        log.info("Loaded {} revoked tokens into the revocation filter", revoked);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval:PT5S}")
+    public void poll() {
+        if (loaded) {
+            pollRevocations();
+        }
+    }
+
+    private void pollRevocations() {
+        Instant polledAt = Instant.now();
+        BloomFilter current = filter;
+        revokedTokenRepository.findByRevokedAtGreaterThanEqual(lastPoll.minus(clockSkew))
+                .forEach(token -> current.put(token.getId()));
+        lastPoll = polledAt;
+    }
+
+    private static final class BloomFilter {
+        final AtomicLongArray bits;
+        final long bitCount;
+        final int hashCount;
+
+        BloomFilter(long expectedEntries, double falsePositiveRate) {
+            long entries = Math.max(1, expectedEntries);
+            long optimalBits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) Math.max(1, (optimalBits + 63) / 64));
+            this.bitCount = bits.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+        }
+
+        void put(String value) {
+            long hash = hash(value);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = bitIndex(hash, i);
+                bits.getAndAccumulate((int) (bit >>> 6), 1L << bit, (word, mask) -> word | mask);
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = bitIndex(hash, i);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long bitIndex(long hash, int i) {
+            int low = (int) hash;
+            int high = (int) (hash >>> 32);
+            return Math.floorMod(low + (long) i * high, bitCount);
+        }
+
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.dto.OrderDto;
+import com.orchid.orchidbe.dto.SalesDto;
+import com.orchid.orchidbe.pojos.Order;
+import com.orchid.orchidbe.pojos.OrderLine;
+import com.orchid.orchidbe.pojos.SalesRollup;
+import com.orchid.orchidbe.repositories.OrderRepository;
+import com.orchid.orchidbe.repositories.SalesRollupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SalesRollupService {
+    private static final int LEGACY_BATCH_SIZE = 500;
+
+    SalesRollupRepository salesRollupRepository;
+    OrderRepository orderRepository;
+    LegacyOrderLines legacyOrderLines;
+    OrchidSuggester orchidSuggester;
+    Map<String, SalesRollup> buffer = new ConcurrentHashMap<>();
+
+    public void record(Order order) {
+        List<OrderLine> lines = order.hasEmbeddedLines()
+                ? order.getOrderLines()
+                : legacyOrderLines.findByOrderIds(List.of(order.getId())).getOrDefault(order.getId(), List.of());
+        addTo(buffer, order, lines);
+        lines.forEach(line -> orchidSuggester.addSales(line.getOrchidId(), line.getQuantity()));
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${sales.rollup.flush-interval:PT10S}")
+    public void flush() {
+        List<SalesRollup> deltas = new ArrayList<>();
+        for (String key : buffer.keySet()) {
+            SalesRollup delta = buffer.remove(key);
+            if (delta != null) {
+                deltas.add(delta);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            salesRollupRepository.increment(deltas);
+        } catch (BulkOperationException e) {
+            log.error("Failed to flush {} of {} sales rollups, keeping them for the next flush",
+                    e.getErrors().size(), deltas.size(), e);
+            e.getErrors().forEach(error -> keep(deltas.get(error.getIndex())));
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} sales rollups, keeping them for the next flush", deltas.size(), e);
+            deltas.forEach(this::keep);
+        }
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<SalesDto.SalesTotal> totalsByDay(SalesDto.SalesRangeRequest range) {
+        return salesRollupRepository.sumBy(SalesRollup.Scope.DAY, dayOf(range.from()), dayOf(range.to()));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<SalesDto.SalesTotal> totalsByOrchid(SalesDto.SalesRangeRequest range) {
+        return salesRollupRepository.sumBy(SalesRollup.Scope.ORCHID, dayOf(range.from()), dayOf(range.to()));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<SalesDto.SalesTotal> totalsByCategory(SalesDto.SalesRangeRequest range) {
+        return salesRollupRepository.sumBy(SalesRollup.Scope.CATEGORY, dayOf(range.from()), dayOf(range.to()));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public long rebuild() {
+        Map<String, SalesRollup> totals = new HashMap<>();
+        long orders = 0;
+
+        OrderDto.OrderPageRequest completed = new OrderDto.OrderPageRequest(
+                null, null, Order.OrderStatus.COMPLETED, null, null);
+        List<Order> legacyOrders = new ArrayList<>(LEGACY_BATCH_SIZE);
+        try (Stream<Order> stream = orderRepository.stream(completed)) {
+            for (Order order : (Iterable<Order>) stream::iterator) {
+                if (order.hasEmbeddedLines()) {
+                    addTo(totals, order, order.getOrderLines());
+                } else {
+                    legacyOrders.add(order);
+                    if (legacyOrders.size() == LEGACY_BATCH_SIZE) {
+                        addLegacyTo(totals, legacyOrders);
+                    }
+                }
+                orders++;
+            }
+        }
+        addLegacyTo(totals, legacyOrders);
+
+        salesRollupRepository.deleteAll();
+        if (!totals.isEmpty()) {
+            salesRollupRepository.increment(new ArrayList<>(totals.values()));
+        }
+        log.info("Rebuilt {} sales rollups from {} completed orders", totals.size(), orders);
+        return orders;
+    }
+
+    private void keep(SalesRollup delta) {
+        buffer.merge(delta.getId(), delta, SalesRollupService::combine);
+    }
+
+    private void addLegacyTo(Map<String, SalesRollup> target, List<Order> legacyOrders) {
+        Map<String, List<OrderLine>> linesByOrderId = legacyOrderLines.findByOrderIds(
+                legacyOrders.stream().map(Order::getId).toList());
+        legacyOrders.forEach(order -> addTo(target, order, linesByOrderId.getOrDefault(order.getId(), List.of())));
+        legacyOrders.clear();
+    }
+
+    private static void addTo(Map<String, SalesRollup> target, Order order, List<OrderLine> lines) {
+        String day = order.getOrderDate().toLocalDate().toString();
+        Set<String> counted = new HashSet<>();
+        for (OrderLine line : lines) {
+            addTo(target, counted, line, new SalesRollup(day + ":" + line.getOrchidId() + ":" + line.getCategoryId(),
+                    day, line.getOrchidId(), line.getCategoryId(), SalesRollup.Scope.ORCHID, 0, 0, 0));
+            addTo(target, counted, line, new SalesRollup(day + ":" + line.getCategoryId(),
+                    day, null, line.getCategoryId(), SalesRollup.Scope.CATEGORY, 0, 0, 0));
+            addTo(target, counted, line, new SalesRollup(day,
+                    day, null, null, SalesRollup.Scope.DAY, 0, 0, 0));
+        }
+    }
+
+    private static void addTo(Map<String, SalesRollup> target, Set<String> counted, OrderLine line,
+                              SalesRollup empty) {
+        long orders = counted.add(empty.getId()) ? 1 : 0;
+        target.compute(empty.getId(), (key, rollup) -> {
+            SalesRollup delta = rollup != null ? rollup : empty;
+            delta.setUnits(delta.getUnits() + line.getQuantity());
+            delta.setRevenue(delta.getRevenue() + line.getPrice() * line.getQuantity());
+            delta.setOrderCount(delta.getOrderCount() + orders);
+            return delta;
+        });
+    }
+
+    private static SalesRollup combine(SalesRollup left, SalesRollup right) {
+        left.setUnits(left.getUnits() + right.getUnits());
+        left.setRevenue(left.getRevenue() + right.getRevenue());
+        left.setOrderCount(left.getOrderCount() + right.getOrderCount());
+        return left;
+    }
+
+    private static String dayOf(LocalDate date) {
+        return date == null ? null : date.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.repositories.OrchidRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class StockLedger {
+    private static final int STRIPES = 64;
+
+    OrchidRepository orchidRepository;
+    int chunkSize;
+    ConcurrentMap<String, AtomicInteger> allotments = new ConcurrentHashMap<>();
+    Object[] locks = new Object[STRIPES];
+
+    public StockLedger(OrchidRepository orchidRepository,
+                       @Value("${stock.ledger.chunk-size:25}") int chunkSize) {
+        this.orchidRepository = orchidRepository;
+        this.chunkSize = chunkSize;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public boolean reserve(String orchidId, int quantity) {
+        AtomicInteger allotment = allotments.computeIfAbsent(orchidId, id -> new AtomicInteger());
+        if (take(allotment, quantity)) {
+            return true;
+        }
+
+        synchronized (lockFor(orchidId)) {
+            if (take(allotment, quantity)) {
+                return true;
+            }
+            if (chunkSize > quantity && orchidRepository.decrementStock(orchidId, chunkSize)) {
+                allotment.addAndGet(chunkSize - quantity);
+                return true;
+            }
+            return orchidRepository.decrementStock(orchidId, quantity);
+        }
+    }
+
+    public void release(String orchidId, int quantity) {
+        allotments.computeIfAbsent(orchidId, id -> new AtomicInteger()).addAndGet(quantity);
+    }
+
+    public int discard(String orchidId) {
+        AtomicInteger allotment = allotments.get(orchidId);
+        if (allotment == null) {
+            return 0;
+        }
+        synchronized (lockFor(orchidId)) {
+            return allotment.getAndSet(0);
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${stock.ledger.flush-interval:PT30S}")
+    public void flush() {
+        allotments.forEach((orchidId, allotment) -> {
+            synchronized (lockFor(orchidId)) {
+                int units = allotment.getAndSet(0);
+                if (units > 0) {
+                    orchidRepository.incrementStock(orchidId, units);
+                }
+            }
+        });
+    }
+
+    private boolean take(AtomicInteger allotment, int quantity) {
+        int available;
+        do {
+            available = allotment.get();
+            if (available < quantity) {
+                return false;
+            }
+        } while (!allotment.compareAndSet(available, available - quantity));
+        return true;
+    }
+
+    private Object lockFor(String orchidId) {
+        return locks[Math.floorMod(orchidId.hashCode(), STRIPES)];
+    }
+}
@@ -0,0 +1,79 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.pojos.Order;
+import com.orchid.orchidbe.pojos.OrderLine;
+import com.orchid.orchidbe.repositories.OrderRepository;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class StockReservationService {
+    StockLedger stockLedger;
+    OrderRepository orderRepository;
+    Duration reservationTtl;
+
+    public StockReservationService(StockLedger stockLedger,
+                                   OrderRepository orderRepository,
+                                   @Value("${stock.reservation.ttl:PT15M}") Duration reservationTtl) {
+        this.stockLedger = stockLedger;
+        this.orderRepository = orderRepository;
+        this.reservationTtl = reservationTtl;
+    }
+
+    public LocalDateTime expiresAt(List<OrderLine> orderLines) {
+        if (orderLines.stream().noneMatch(OrderLine::isStockReserved)) {
+            return null;
+        }
+        return LocalDateTime.now().plus(reservationTtl);
+    }
+
+    public void reserve(List<OrderLine> orderLines) {
+        List<OrderLine> reserved = new ArrayList<>();
+        for (OrderLine line : orderLines) {
+            if (!line.isStockReserved()) {
+                continue;
+            }
+            if (!stockLedger.reserve(line.getOrchidId(), line.getQuantity())) {
+                release(reserved);
+                throw new IllegalArgumentException("Not enough stock for orchid: " + line.getOrchidName());
+            }
+            reserved.add(line);
+        }
+    }
+
+    public void release(List<OrderLine> orderLines) {
+        if (orderLines == null) {
+            return;
+        }
+        for (OrderLine line : orderLines) {
+            if (line.isStockReserved()) {
+                stockLedger.release(line.getOrchidId(), line.getQuantity());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stock.reservation.expiry-check-interval:PT30S}")
+    public void expireReservations() {
+        List<Order> expired;
+        do {
+            expired = orderRepository.findTop500ByOrderStatusAndReservationExpiresAtBefore(
+                    Order.OrderStatus.PENDING, LocalDateTime.now());
+            for (Order order : expired) {
+                Order cancelled = orderRepository.transitionStatus(
+                        order.getId(), null, Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED);
+                if (cancelled != null) {
+                    release(cancelled.getOrderLines());
+                }
+            }
+        } while (expired.size() == 500);
+    }
+}
@@ -0,0 +1,144 @@
+package com.orchid.orchidbe.configs;
+
+import com.orchid.orchidbe.services.CatalogCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogResponseCacheFilterTests {
+
+	static final String BODY = "{\"orchids\":[]}";
+
+	CatalogCache catalogCache;
+	CatalogResponseCacheFilter filter;
+	AtomicInteger renders;
+	int status;
+
+	@BeforeEach
+	void setUp() {
+		catalogCache = mock(CatalogCache.class);
+		when(catalogCache.version()).thenReturn(1L);
+		filter = new CatalogResponseCacheFilter(catalogCache, new SimpleMeterRegistry(),
+				DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+		renders = new AtomicInteger();
+		status = HttpServletResponse.SC_OK;
+	}
+
+	@Test
+	void servesTheSecondRequestFromTheCache() throws Exception {
+		MockHttpServletResponse miss = get(null, null);
+		MockHttpServletResponse hit = get(null, null);
+
+		assertThat(renders).hasValue(1);
+		assertThat(miss.getContentAsString()).isEqualTo(BODY);
+		assertThat(hit.getContentAsString()).isEqualTo(BODY);
+		assertThat(hit.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+		assertThat(hit.getHeader(HttpHeaders.ETAG)).isEqualTo(miss.getHeader(HttpHeaders.ETAG));
+	}
+
+	@Test
+	void answersNotModifiedForTheIdentityEtag() throws Exception {
+		String etag = get(null, null).getHeader(HttpHeaders.ETAG);
+
+		MockHttpServletResponse response = get(null, etag);
+
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void answersNotModifiedForTheGzipEtag() throws Exception {
+		MockHttpServletResponse gzipped = get("gzip, deflate", null);
+		String etag = gzipped.getHeader(HttpHeaders.ETAG);
+
+		MockHttpServletResponse response = get("gzip", etag);
+
+		assertThat(gzipped.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(gunzip(gzipped.getContentAsByteArray())).isEqualTo(BODY);
+		assertThat(etag).endsWith("-gzip\"");
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+	}
+
+	@Test
+	void doesNotGzipWhenTheClientRefusesIt() throws Exception {
+		MockHttpServletResponse refused = get("gzip;q=0, identity", null);
+		MockHttpServletResponse wildcard = get("*;q=0.5", null);
+
+		assertThat(refused.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+		assertThat(refused.getContentAsString()).isEqualTo(BODY);
+		assertThat(wildcard.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+	}
+
+	@Test
+	void doesNotCacheErrorResponses() throws Exception {
+		status = HttpServletResponse.SC_NOT_FOUND;
+
+		MockHttpServletResponse response = get(null, null);
+		get(null, null);
+
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_FOUND);
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+		assertThat(renders).hasValue(2);
+	}
+
+	@Test
+	void doesNotCacheResponsesRenderedAcrossACatalogChange() throws Exception {
+		when(catalogCache.version()).thenReturn(1L, 2L);
+
+		assertThat(get(null, null).getContentAsString()).isEqualTo(BODY);
+		get(null, null);
+		get(null, null);
+
+		assertThat(renders).hasValue(2);
+	}
+
+	private MockHttpServletResponse get(String acceptEncoding, String ifNoneMatch) throws ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orchids");
+		request.setServletPath("/orchids");
+		request.setQueryString("page=0");
+		if (acceptEncoding != null) {
+			request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+		}
+		if (ifNoneMatch != null) {
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, render());
+		return response;
+	}
+
+	private FilterChain render() {
+		return (request, response) -> {
+			renders.incrementAndGet();
+			HttpServletResponse httpResponse = (HttpServletResponse) response;
+			httpResponse.setStatus(status);
+			httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			httpResponse.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+		};
+	}
+
+	private static String gunzip(byte[] body) throws IOException {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package com.orchid.orchidbe.configs;
+
+import com.orchid.orchidbe.pojos.IdempotencyRecord;
+import com.orchid.orchidbe.repositories.IdempotencyRecordRepository;
+import com.orchid.orchidbe.services.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTests {
+
+	Map<String, IdempotencyRecord> stored;
+	IdempotencyRecordRepository idempotencyRecordRepository;
+	IdempotencyFilter filter;
+	AtomicInteger handled;
+	int status;
+
+	@BeforeEach
+	void setUp() {
+		stored = new ConcurrentHashMap<>();
+		idempotencyRecordRepository = mock(IdempotencyRecordRepository.class);
+		when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+			IdempotencyRecord record = invocation.getArgument(0);
+			if (stored.putIfAbsent(record.getId(), record) != null) {
+				throw new DuplicateKeyException(record.getId());
+			}
+			return record;
+		});
+		when(idempotencyRecordRepository.save(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+			IdempotencyRecord record = invocation.getArgument(0);
+			stored.put(record.getId(), record);
+			return record;
+		});
+		when(idempotencyRecordRepository.findById(anyString()))
+				.thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.<String>getArgument(0))));
+		doAnswer(invocation -> stored.remove(invocation.<String>getArgument(0)))
+				.when(idempotencyRecordRepository).deleteById(anyString());
+		filter = filter();
+		handled = new AtomicInteger();
+		status = HttpServletResponse.SC_OK;
+	}
+
+	@Test
+	void replaysTheFirstResponseForTheSameBody() throws Exception {
+		MockHttpServletResponse first = post(filter, "key", "{\"a\":1}");
+		MockHttpServletResponse replayed = post(filter, "key", "{\"a\":1}");
+
+		assertThat(handled).hasValue(1);
+		assertThat(first.getContentAsString()).isEqualTo("handled {\"a\":1}");
+		assertThat(replayed.getContentAsString()).isEqualTo("handled {\"a\":1}");
+		assertThat(replayed.getHeader("Idempotent-Replayed")).isEqualTo("true");
+	}
+
+	@Test
+	void rejectsTheSameKeyWithADifferentBody() throws Exception {
+		post(filter, "key", "{\"a\":1}");
+
+		MockHttpServletResponse response = post(filter, "key", "{\"a\":2}");
+
+		assertThat(response.getStatus()).isEqualTo(422);
+		assertThat(handled).hasValue(1);
+	}
+
+	@Test
+	void waitsForAClaimHeldByAnotherInstance() throws Exception {
+		IdempotencyFilter otherInstance = filter();
+		CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> {
+			status = HttpServletResponse.SC_CREATED;
+			return postQuietly(otherInstance, "key", "{\"a\":1}", Duration.ofMillis(200));
+		});
+		while (stored.isEmpty()) {
+			Thread.onSpinWait();
+		}
+
+		MockHttpServletResponse replayed = post(filter, "key", "{\"a\":1}");
+
+		assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+		assertThat(replayed.getStatus()).isEqualTo(HttpServletResponse.SC_CREATED);
+		assertThat(replayed.getHeader("Idempotent-Replayed")).isEqualTo("true");
+		assertThat(handled).hasValue(1);
+	}
+
+	@Test
+	void releasesTheClaimWhenTheHandlerFails() throws Exception {
+		status = HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+		post(filter, "key", "{\"a\":1}");
+		assertThat(stored).isEmpty();
+
+		status = HttpServletResponse.SC_OK;
+		MockHttpServletResponse retried = post(filter, "key", "{\"a\":1}");
+
+		assertThat(retried.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+		assertThat(handled).hasValue(2);
+	}
+
+	private IdempotencyFilter filter() {
+		return new IdempotencyFilter(new IdempotencyStore(idempotencyRecordRepository, 100, Duration.ofMillis(10)));
+	}
+
+	private MockHttpServletResponse post(IdempotencyFilter target, String key, String body)
+			throws ServletException, IOException {
+		return post(target, key, body, Duration.ZERO);
+	}
+
+	private MockHttpServletResponse postQuietly(IdempotencyFilter target, String key, String body, Duration handling) {
+		try {
+			return post(target, key, body, handling);
+		} catch (ServletException | IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private MockHttpServletResponse post(IdempotencyFilter target, String key, String body, Duration handling)
+			throws ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+		request.setServletPath("/orders");
+		request.addHeader("Idempotency-Key", key);
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		target.doFilter(request, response, handler(handling));
+		return response;
+	}
+
+	private FilterChain handler(Duration handling) {
+		return (request, response) -> {
+			handled.incrementAndGet();
+			String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+			try {
+				Thread.sleep(handling.toMillis());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			((HttpServletResponse) response).setStatus(status);
+			response.getWriter().write("handled " + body);
+		};
+	}
+}
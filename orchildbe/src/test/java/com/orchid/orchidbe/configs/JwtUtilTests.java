@@ -0,0 +1,80 @@
+package com.orchid.orchidbe.configs;
+
+import com.orchid.orchidbe.pojos.Account;
+import com.orchid.orchidbe.pojos.Role;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTests {
+
+	@Test
+	void verifyExtractsClaimsAndCachesVerifiedTokens() {
+		JwtUtil jwtUtil = jwtUtil(60_000L);
+		String token = jwtUtil.generateToken(account());
+
+		JwtUtil.TokenClaims claims = jwtUtil.verify(token);
+
+		assertThat(claims.accountId()).isEqualTo("a1");
+		assertThat(claims.username()).isEqualTo("user@orchid.com");
+		assertThat(claims.roles()).containsExactly("ADMIN");
+		assertThat(claims.expiresAt()).isNotNull();
+		assertThat(jwtUtil.verify(token)).isSameAs(claims);
+	}
+
+	@Test
+	void refreshTokensAreMarkedAndCarryATokenId() {
+		JwtUtil jwtUtil = jwtUtil(60_000L);
+
+		JwtUtil.TokenClaims access = jwtUtil.verify(jwtUtil.generateToken(account()));
+		JwtUtil.TokenClaims refresh = jwtUtil.verify(jwtUtil.generateRefreshToken(account()));
+
+		assertThat(access.refresh()).isFalse();
+		assertThat(refresh.refresh()).isTrue();
+		assertThat(refresh.accountId()).isEqualTo("a1");
+		assertThat(refresh.roles()).isEmpty();
+		assertThat(refresh.tokenId()).isNotBlank().isNotEqualTo(access.tokenId());
+	}
+
+	@Test
+	void verifyRejectsTamperedTokens() {
+		JwtUtil jwtUtil = jwtUtil(60_000L);
+		String token = jwtUtil.generateToken(account());
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+		assertThatThrownBy(() -> jwtUtil.verify(tampered)).isInstanceOf(JwtException.class);
+	}
+
+	@Test
+	void verifyRejectsExpiredTokens() {
+		JwtUtil jwtUtil = jwtUtil(-60_000L);
+		String token = jwtUtil.generateToken(account());
+
+		assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(ExpiredJwtException.class);
+	}
+
+	private JwtUtil jwtUtil(long expirationTime) {
+		JwtUtil jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-test-secret-test-secret-test");
+		ReflectionTestUtils.setField(jwtUtil, "expirationTime", expirationTime);
+		ReflectionTestUtils.setField(jwtUtil, "refreshExpirationTime", 120_000L);
+		ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", 100L);
+		ReflectionTestUtils.setField(jwtUtil, "verifiedCacheTtl", Duration.ofMinutes(5));
+		jwtUtil.initializeKey();
+		return jwtUtil;
+	}
+
+	private Account account() {
+		Account account = new Account();
+		account.setId("a1");
+		account.setEmail("user@orchid.com");
+		account.setRole(new Role("admin"));
+		return account;
+	}
+}
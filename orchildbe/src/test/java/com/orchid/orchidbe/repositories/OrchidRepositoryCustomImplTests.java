@@ -0,0 +1,80 @@
+package com.orchid.orchidbe.repositories;
+
+import com.orchid.orchidbe.dto.FieldSelection;
+import com.orchid.orchidbe.dto.OrchidDto;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrchidRepositoryCustomImplTests {
+
+	MongoTemplate mongoTemplate;
+	OrchidRepositoryCustomImpl orchidRepository;
+	ArgumentCaptor<TypedAggregation<?>> aggregations;
+
+	@BeforeEach
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		orchidRepository = new OrchidRepositoryCustomImpl(mongoTemplate);
+		aggregations = (ArgumentCaptor) ArgumentCaptor.forClass(TypedAggregation.class);
+		when(mongoTemplate.aggregate(aggregations.capture(), eq(Document.class))).thenReturn(
+				new AggregationResults<>(List.of(orchid("a", 10), orchid("b", 12), orchid("c", 15)), new Document()),
+				new AggregationResults<>(List.of(new Document("total", List.of(new Document("total", 7)))), new Document()));
+	}
+
+	@Test
+	void findAvailableReadsThePageSeparatelyFromTheFacets() {
+		OrchidDto.OrchidPage page = orchidRepository.findAvailable(null, request(null), FieldSelection.ALL);
+
+		assertThat(page.orchids()).extracting(OrchidDto.OrchidResponse::id).containsExactly("a", "b");
+		assertThat(page.total()).isEqualTo(7);
+		assertThat(OrchidDto.OrchidCursor.decode(page.nextCursor())).isEqualTo(new OrchidDto.OrchidCursor(12, "b"));
+
+		List<TypedAggregation<?>> captured = aggregations.getAllValues();
+		assertThat(stages(captured.get(0)))
+				.containsExactly("$match", "$sort", "$skip", "$limit", "$lookup", "$unwind");
+		assertThat(stages(captured.get(1))).containsExactly("$match", "$facet");
+		assertThat(captured.get(1).getOptions().isAllowDiskUse()).isTrue();
+	}
+
+	@Test
+	void findAvailableSeeksPastTheCursorInsteadOfSkipping() {
+		String cursor = new OrchidDto.OrchidCursor(12, "b").encode();
+
+		orchidRepository.findAvailable(null, request(cursor),
+				FieldSelection.parse("id,name", OrchidDto.RESPONSE_FIELDS));
+
+		List<Document> pipeline = aggregations.getAllValues().get(0).toPipeline(Aggregation.DEFAULT_CONTEXT);
+		assertThat(stages(aggregations.getAllValues().get(0))).containsExactly("$match", "$sort", "$limit", "$project");
+		assertThat(pipeline.get(3).get("$project", Document.class)).containsKeys("price", "name");
+		assertThat(pipeline.get(0).get("$match", Document.class)).containsKey("$and");
+	}
+
+	private static List<String> stages(TypedAggregation<?> aggregation) {
+		return aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT)
+				.stream()
+				.map(stage -> stage.keySet().iterator().next())
+				.toList();
+	}
+
+	private static OrchidDto.OrchidSearchRequest request(String cursor) {
+		return new OrchidDto.OrchidSearchRequest(null, null, null, null, null, 2, cursor);
+	}
+
+	private static Document orchid(String id, double price) {
+		return new Document("_id", id).append("name", id).append("price", price).append("isAvailable", true);
+	}
+}
@@ -0,0 +1,51 @@
+package com.orchid.orchidbe.repositories;
+
+import com.orchid.orchidbe.dto.SalesDto;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderRepositoryCustomImplTests {
+
+	MongoTemplate mongoTemplate;
+	OrderRepositoryCustomImpl orderRepository;
+	ArgumentCaptor<TypedAggregation<?>> aggregations;
+
+	@BeforeEach
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		orderRepository = new OrderRepositoryCustomImpl(mongoTemplate);
+		aggregations = (ArgumentCaptor) ArgumentCaptor.forClass(TypedAggregation.class);
+		when(mongoTemplate.aggregate(aggregations.capture(), eq(Document.class)))
+				.thenReturn(new AggregationResults<>(List.of(), new Document()));
+	}
+
+	@Test
+	void salesReportFoldsLegacyOrderDetailsIntoOrderLines() {
+		SalesDto.SalesReport report = orderRepository.salesReport(null, null, 10);
+
+		assertThat(report.topOrchids()).isEmpty();
+		List<Document> pipeline = aggregations.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+		assertThat(pipeline.stream().map(stage -> stage.keySet().iterator().next()))
+				.containsExactly("$match", "$addFields", "$lookup", "$lookup", "$addFields", "$unset", "$facet");
+		assertThat(pipeline.get(2).get("$lookup", Document.class))
+				.containsEntry("from", "order_details")
+				.containsEntry("localField", "legacyOrderId")
+				.containsEntry("foreignField", "order");
+		assertThat(pipeline.get(4).get("$addFields", Document.class).get("orderLines", Document.class))
+				.containsKey("$ifNull");
+	}
+}
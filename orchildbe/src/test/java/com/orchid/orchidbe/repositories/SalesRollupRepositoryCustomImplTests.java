@@ -0,0 +1,75 @@
+package com.orchid.orchidbe.repositories;
+
+import com.orchid.orchidbe.dto.SalesDto;
+import com.orchid.orchidbe.pojos.SalesRollup;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SalesRollupRepositoryCustomImplTests {
+
+	MongoTemplate mongoTemplate;
+	BulkOperations bulkOperations;
+	SalesRollupRepositoryCustomImpl salesRollupRepository;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		bulkOperations = mock(BulkOperations.class);
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SalesRollup.class)).thenReturn(bulkOperations);
+		salesRollupRepository = new SalesRollupRepositoryCustomImpl(mongoTemplate);
+	}
+
+	@Test
+	void incrementUpsertsEveryDeltaInOneBulkWrite() {
+		salesRollupRepository.increment(List.of(
+				new SalesRollup("2026-10-17", "2026-10-17", null, null, SalesRollup.Scope.DAY, 3, 30, 1),
+				new SalesRollup("2026-10-17:c1", "2026-10-17", null, "c1", SalesRollup.Scope.CATEGORY, 3, 30, 1)));
+
+		ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+		verify(bulkOperations, times(2)).upsert(any(Query.class), updates.capture());
+		verify(bulkOperations).execute();
+
+		Document update = updates.getAllValues().get(1).getUpdateObject();
+		assertThat(update.get("$set", Document.class)).containsEntry("scope", SalesRollup.Scope.CATEGORY);
+		assertThat(update.get("$setOnInsert", Document.class)).containsEntry("categoryId", "c1");
+		assertThat(update.get("$inc", Document.class))
+				.containsEntry("units", 3L)
+				.containsEntry("revenue", 30.0)
+				.containsEntry("orderCount", 1L);
+	}
+
+	@Test
+	void sumByGroupsOnlyTheRequestedScope() {
+		ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+		when(mongoTemplate.aggregate(aggregation.capture(), eq(SalesRollup.class), eq(SalesDto.SalesTotal.class)))
+				.thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+		salesRollupRepository.sumBy(SalesRollup.Scope.CATEGORY, "2026-10-01", "2026-10-31");
+
+		List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+		Document match = pipeline.get(0).get("$match", Document.class);
+		assertThat(match).containsEntry("scope", SalesRollup.Scope.CATEGORY);
+		assertThat(match.get("day", Document.class))
+				.containsEntry("$gte", "2026-10-01")
+				.containsEntry("$lte", "2026-10-31");
+		assertThat(pipeline.get(1).get("$group", Document.class)).containsEntry("_id", "$categoryId");
+	}
+}
@@ -0,0 +1,140 @@
+package com.orchid.orchidbe.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.orchid.orchidbe.dto.OrchidDto;
+import com.orchid.orchidbe.pojos.Category;
+import com.orchid.orchidbe.pojos.Orchid;
+import com.orchid.orchidbe.repositories.CategoryRepository;
+import com.orchid.orchidbe.repositories.OrchidRepository;
+import com.orchid.orchidbe.repositories.SalesRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrchidImporterTests {
+
+	OrchidRepository orchidRepository;
+	OrchidSuggester orchidSuggester;
+	OrchidImporter orchidImporter;
+
+	@BeforeEach
+	void setUp() {
+		orchidRepository = mock(OrchidRepository.class);
+		CategoryRepository categoryRepository = mock(CategoryRepository.class);
+		when(categoryRepository.findAllById(any())).thenReturn(List.of(new Category("c1", "Phalaenopsis")));
+		when(orchidRepository.upsertAllByName(anyList())).thenReturn(BulkWriteResult.acknowledged(
+				0, 0, 0, 0, List.of(new BulkWriteUpsert(0, new BsonObjectId(new ObjectId()))), List.of()));
+
+		orchidSuggester = new OrchidSuggester(orchidRepository, mock(SalesRollupRepository.class), 10);
+		orchidImporter = new OrchidImporter(
+				orchidRepository,
+				new CatalogCache(orchidRepository, categoryRepository, new SimpleMeterRegistry(),
+						1000, Duration.ofMinutes(10), Duration.ofSeconds(30)),
+				orchidSuggester,
+				Validation.buildDefaultValidatorFactory().getValidator(),
+				new ObjectMapper(),
+				2,
+				100);
+	}
+
+	@Test
+	void importReportsRowErrorsWithoutStoppingTheBatch() throws IOException {
+		String ndjson = """
+				{"name": "Amabilis", "description": "White", "url": "a.png", "price": 10, "categoryId": "c1"}
+				{"name": "", "description": "Blank name", "url": "b.png", "price": 10, "categoryId": "c1"}
+				{"name": "Bellina", "description": "Violet", "url": "c.png", "price": 12, "categoryId": "missing"}
+				{"name": "Schilleriana", "description": "Pink", "url": "d.png", "price": 15, "categoryId": "c1"}
+				{"name": "Equestris", "description": "Small", "url": "e.png", "price": "cheap", "categoryId": "c1"}
+				""";
+
+		OrchidDto.ImportResult result = orchidImporter.importOrchids(stream(ndjson), OrchidDto.ImportFormat.NDJSON);
+
+		assertThat(result.rows()).isEqualTo(5);
+		assertThat(result.inserted()).isEqualTo(2);
+		assertThat(result.failed()).isEqualTo(3);
+		assertThat(result.errors())
+				.extracting(OrchidDto.ImportError::row)
+				.containsExactlyInAnyOrder(2L, 3L, 5L);
+		verify(orchidRepository, times(2)).upsertAllByName(anyList());
+		assertThat(orchidSuggester.suggest("schil", 10))
+				.extracting(OrchidDto.OrchidSuggestion::name)
+				.containsExactly("Schilleriana");
+	}
+
+	@Test
+	void importParsesCsvWithHeader() throws IOException {
+		String csv = """
+				name,description,url,price,categoryId,isNatural,stockQuantity
+				Amabilis,"White, fragrant",a.png,10.5,c1,true,
+				""";
+
+		OrchidDto.ImportResult result = orchidImporter.importOrchids(stream(csv), OrchidDto.ImportFormat.CSV);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Orchid>> captor = ArgumentCaptor.forClass(List.class);
+		verify(orchidRepository).upsertAllByName(captor.capture());
+		Orchid orchid = captor.getValue().getFirst();
+		assertThat(result.failed()).isZero();
+		assertThat(orchid.getDescription()).isEqualTo("White, fragrant");
+		assertThat(orchid.getPrice()).isEqualTo(10.5);
+		assertThat(orchid.isNatural()).isTrue();
+		assertThat(orchid.getStockQuantity()).isNull();
+		assertThat(orchid.getCategoryId()).isEqualTo("c1");
+	}
+
+	@Test
+	void importReportsDuplicateNamesPerRow() throws IOException {
+		when(orchidRepository.upsertAllByName(anyList()))
+				.thenReturn(BulkWriteResult.acknowledged(
+						0, 0, 0, 0, List.of(new BulkWriteUpsert(0, new BsonObjectId(new ObjectId()))), List.of()))
+				.thenThrow(new BulkOperationException("Bulk write failed", new MongoBulkWriteException(
+						BulkWriteResult.acknowledged(
+								0, 0, 0, 0, List.of(new BulkWriteUpsert(0, new BsonObjectId(new ObjectId()))), List.of()),
+						List.of(new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 1)),
+						null, new ServerAddress(), Set.of())));
+		String ndjson = """
+				{"name": "Amabilis", "description": "White", "url": "a.png", "price": 10, "categoryId": "c1"}
+				{"name": "Amabilis", "description": "Again", "url": "b.png", "price": 11, "categoryId": "c1"}
+				{"name": "Bellina", "description": "Violet", "url": "c.png", "price": 12, "categoryId": "c1"}
+				{"name": "Schilleriana", "description": "Pink", "url": "d.png", "price": 15, "categoryId": "c1"}
+				""";
+
+		OrchidDto.ImportResult result = orchidImporter.importOrchids(stream(ndjson), OrchidDto.ImportFormat.NDJSON);
+
+		assertThat(result.inserted()).isEqualTo(2);
+		assertThat(result.errors()).containsExactlyInAnyOrder(
+				new OrchidDto.ImportError(2, "Duplicate name in import: Amabilis"),
+				new OrchidDto.ImportError(4, "Orchid name already exists: Schilleriana"));
+	}
+
+	private InputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,103 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.dto.OrchidDto;
+import com.orchid.orchidbe.pojos.Orchid;
+import com.orchid.orchidbe.repositories.OrchidRepository;
+import com.orchid.orchidbe.repositories.SalesRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class OrchidSuggesterTests {
+
+	OrchidSuggester orchidSuggester;
+
+	@BeforeEach
+	void setUp() {
+		orchidSuggester = new OrchidSuggester(mock(OrchidRepository.class), mock(SalesRollupRepository.class), 3);
+	}
+
+	@Test
+	void suggestRanksMatchesByPopularity() {
+		orchidSuggester.put(orchid("1", "Phalaenopsis Amabilis", true));
+		orchidSuggester.put(orchid("2", "Phalaenopsis Bellina", true));
+		orchidSuggester.put(orchid("3", "Paphiopedilum", true));
+		orchidSuggester.put(orchid("4", "Dendrobium", true));
+		orchidSuggester.addSales("2", 5);
+		orchidSuggester.addSales("3", 2);
+
+		assertThat(orchidSuggester.suggest("p", 10))
+				.extracting(OrchidDto.OrchidSuggestion::id)
+				.containsExactly("2", "3", "1");
+		assertThat(orchidSuggester.suggest("  PHAL", 10))
+				.extracting(OrchidDto.OrchidSuggestion::id)
+				.containsExactly("2", "1");
+	}
+
+	@Test
+	void suggestMatchesPrefixesLongerThanTheTrieDepth() {
+		orchidSuggester.put(orchid("1", "Phalaenopsis Amabilis", true));
+		orchidSuggester.put(orchid("2", "Phalaenopsis Bellina", true));
+
+		assertThat(orchidSuggester.suggest("phalaenopsis b", 10))
+				.extracting(OrchidDto.OrchidSuggestion::name)
+				.containsExactly("Phalaenopsis Bellina");
+	}
+
+	@Test
+	void suggestFollowsRenamesAndRemovals() {
+		orchidSuggester.put(orchid("1", "Cattleya", true));
+		orchidSuggester.put(orchid("2", "Cymbidium", true));
+
+		orchidSuggester.put(orchid("1", "Vanda", true));
+		orchidSuggester.put(orchid("2", "Cymbidium", false));
+
+		assertThat(orchidSuggester.suggest("c", 10)).isEmpty();
+		assertThat(orchidSuggester.suggest("v", 10))
+				.extracting(OrchidDto.OrchidSuggestion::id)
+				.containsExactly("1");
+	}
+
+	@Test
+	void suggestKeepsRankingsWhenBucketsSplit() {
+		for (int i = 0; i < 40; i++) {
+			String id = String.valueOf(i);
+			orchidSuggester.put(orchid(id, "Orchid %02d".formatted(i), true));
+			orchidSuggester.addSales(id, i);
+		}
+
+		assertThat(orchidSuggester.suggest("orchid", 10))
+				.extracting(OrchidDto.OrchidSuggestion::id)
+				.containsExactly("39", "38", "37");
+		assertThat(orchidSuggester.suggest("orchid 1", 10))
+				.extracting(OrchidDto.OrchidSuggestion::id)
+				.containsExactly("19", "18", "17");
+		assertThat(orchidSuggester.suggest("orchid 12", 10))
+				.extracting(OrchidDto.OrchidSuggestion::id)
+				.containsExactly("12");
+
+		orchidSuggester.remove("39");
+		orchidSuggester.put(orchid("38", "Vanda", true));
+		orchidSuggester.addSales("5", 100);
+
+		assertThat(orchidSuggester.suggest("orchid", 10))
+				.extracting(OrchidDto.OrchidSuggestion::id)
+				.containsExactly("5", "37", "36");
+		assertThat(orchidSuggester.suggest("orchid 3", 10))
+				.extracting(OrchidDto.OrchidSuggestion::id)
+				.containsExactly("37", "36", "35");
+		assertThat(orchidSuggester.suggest("v", 10))
+				.extracting(OrchidDto.OrchidSuggestion::id)
+				.containsExactly("38");
+	}
+
+	private static Orchid orchid(String id, String name, boolean available) {
+		Orchid orchid = new Orchid();
+		orchid.setId(id);
+		orchid.setName(name);
+		orchid.setAvailable(available);
+		return orchid;
+	}
+}
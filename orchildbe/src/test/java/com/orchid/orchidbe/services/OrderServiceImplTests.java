@@ -0,0 +1,344 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.dto.FieldSelection;
+import com.orchid.orchidbe.dto.OrderDetailDto;
+import com.orchid.orchidbe.dto.OrderDto;
+import com.orchid.orchidbe.mappers.OrderMapper;
+import com.orchid.orchidbe.pojos.Account;
+import com.orchid.orchidbe.pojos.Orchid;
+import com.orchid.orchidbe.pojos.Order;
+import com.orchid.orchidbe.pojos.OrderDetail;
+import com.orchid.orchidbe.pojos.OrderLine;
+import com.orchid.orchidbe.repositories.CategoryRepository;
+import com.orchid.orchidbe.repositories.OrchidRepository;
+import com.orchid.orchidbe.repositories.OrderDetailRepository;
+import com.orchid.orchidbe.repositories.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mapstruct.factory.Mappers;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderServiceImplTests {
+
+	OrderRepository orderRepository;
+	OrderDetailRepository orderDetailRepository;
+	OrchidRepository orchidRepository;
+	StockReservationService stockReservationService;
+	OrderServiceImpl orderService;
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@BeforeEach
+	void setUp() {
+		orderRepository = mock(OrderRepository.class);
+		orderDetailRepository = mock(OrderDetailRepository.class);
+		orchidRepository = mock(OrchidRepository.class);
+		stockReservationService = new StockReservationService(
+				new StockLedger(orchidRepository, 25), orderRepository, Duration.ofMinutes(15));
+		orderService = new OrderServiceImpl(
+				orderRepository,
+				orderDetailRepository,
+				new CatalogCache(orchidRepository, mock(CategoryRepository.class), new SimpleMeterRegistry(),
+						1000, Duration.ofMinutes(10), Duration.ofSeconds(30)),
+				Mappers.getMapper(OrderMapper.class),
+				stockReservationService,
+				mock(OrderWritePipeline.class),
+				mock(SalesRollupService.class));
+	}
+
+	@Test
+	void findAllLoadsOrderLinesInOneQuery() {
+		Account account = new Account();
+		account.setId("account");
+
+		Orchid orchid = new Orchid();
+		orchid.setId("orchid");
+
+		List<Order> orders = new ArrayList<>();
+		List<OrderDetail> details = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			Order order = order("order-" + i, LocalDateTime.now(), Order.OrderStatus.PENDING, account, null);
+			orders.add(order);
+			details.add(new OrderDetail("detail-" + i + "-a", 5, 1, orchid, order));
+			details.add(new OrderDetail("detail-" + i + "-b", 5, 1, orchid, order));
+		}
+
+		when(orderRepository.findPage(isNull(), any(), any())).thenReturn(orders);
+		when(orderDetailRepository.findAllByOrder_IdIn(anyCollection())).thenReturn(details);
+
+		List<OrderDto.OrderResponse> responses = orderService.findAll(pageRequest(100), FieldSelection.ALL).orders();
+
+		assertThat(responses).hasSize(100);
+		assertThat(responses).allSatisfy(response -> assertThat(response.orderDetails()).hasSize(2));
+		assertThat(responses.get(42).orderDetails())
+				.allSatisfy(detail -> assertThat(detail.orderId()).isEqualTo("order-42"));
+		verify(orderRepository, times(1)).findPage(isNull(), any(), any());
+		verify(orderDetailRepository, times(1)).findAllByOrder_IdIn(anyCollection());
+		verify(orderDetailRepository, never()).findByOrderId(anyString());
+	}
+
+	@Test
+	void findAllSkipsOrderDetailsForEmbeddedLines() {
+		Account account = new Account();
+		account.setId("account");
+
+		List<Order> orders = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			OrderLine line = new OrderLine("line-" + i, "orchid", "Orchid", "category", 5, 2, false);
+			orders.add(order("order-" + i, LocalDateTime.now(), Order.OrderStatus.PENDING, account, List.of(line)));
+		}
+
+		when(orderRepository.findPage(isNull(), any(), any())).thenReturn(orders);
+
+		List<OrderDto.OrderResponse> responses = orderService.findAll(pageRequest(100), FieldSelection.ALL).orders();
+
+		assertThat(responses).hasSize(100);
+		assertThat(responses.get(7).orderDetails()).singleElement()
+				.satisfies(detail -> assertThat(detail.orderId()).isEqualTo("order-7"));
+		verify(orderDetailRepository, never()).findAllByOrder_IdIn(anyCollection());
+		verify(orderDetailRepository, never()).findByOrderId(anyString());
+	}
+
+	@Test
+	void findAllSkipsOrderDetailsWhenNotSelected() {
+		Account account = new Account();
+		account.setId("account");
+
+		List<Order> orders = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			orders.add(order("order-" + i, LocalDateTime.now(), Order.OrderStatus.PENDING, account, null));
+		}
+
+		FieldSelection fields = FieldSelection.parse("id,totalAmount", OrderDto.RESPONSE_FIELDS);
+		when(orderRepository.findPage(isNull(), any(), any())).thenReturn(orders);
+
+		List<OrderDto.OrderResponse> responses = orderService.findAll(pageRequest(10), fields).orders();
+
+		assertThat(responses).hasSize(10);
+		verify(orderDetailRepository, never()).findAllByOrder_IdIn(anyCollection());
+		verify(orderDetailRepository, never()).findByOrderId(anyString());
+	}
+
+	@Test
+	void fieldSelectionRejectsUnknownFields() {
+		assertThatThrownBy(() -> FieldSelection.parse("id,password", OrderDto.RESPONSE_FIELDS))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Unknown field: password");
+	}
+
+	@Test
+	void findAllReturnsCursorWhenMoreOrdersRemain() {
+		Account account = new Account();
+		account.setId("account");
+
+		List<Order> orders = new ArrayList<>();
+		for (int i = 0; i < 21; i++) {
+			orders.add(order("order-" + i, LocalDateTime.now().minusMinutes(i), Order.OrderStatus.PENDING, account, List.of()));
+		}
+
+		when(orderRepository.findPage(isNull(), any(), any())).thenReturn(orders);
+
+		OrderDto.OrderPage page = orderService.findAll(pageRequest(20), FieldSelection.ALL);
+
+		assertThat(page.orders()).hasSize(20);
+		assertThat(OrderDto.OrderCursor.decode(page.nextCursor()).id()).isEqualTo("order-19");
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 20, 200})
+	void addIssuesSameRoundTripsForAnyCartSize(int lines) {
+		Account account = new Account();
+		account.setId("account");
+		SecurityContextHolder.getContext()
+				.setAuthentication(new UsernamePasswordAuthenticationToken(account, null, List.of()));
+
+		List<Orchid> orchids = new ArrayList<>();
+		List<OrderDetailDto.OrderDetail> requestLines = new ArrayList<>();
+		for (int i = 0; i < lines; i++) {
+			Orchid orchid = new Orchid();
+			orchid.setId("orchid-" + i);
+			orchid.setName("Orchid " + i);
+			orchid.setPrice(10);
+			orchid.setAvailable(true);
+			orchids.add(orchid);
+			requestLines.add(new OrderDetailDto.OrderDetail(orchid.getId(), 2));
+		}
+
+		when(orchidRepository.findAllById(anyCollection())).thenReturn(orchids);
+		when(orderRepository.insert(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		OrderDto.OrderResponse response = orderService.add(new OrderDto.OrderRequest(requestLines));
+
+		assertThat(response.orderDetails()).hasSize(lines);
+		assertThat(response.totalAmount()).isEqualTo(20.0 * lines);
+		verify(orchidRepository, times(1)).findAllById(anyCollection());
+		verify(orchidRepository, never()).findById(anyString());
+		verify(orderRepository, times(1)).insert(any(Order.class));
+		verify(orderRepository, never()).save(any(Order.class));
+		verify(orderDetailRepository, never()).saveAll(anyCollection());
+	}
+
+	@Test
+	void addServesRepeatedOrchidsFromCatalogCache() {
+		Account account = new Account();
+		account.setId("account");
+		SecurityContextHolder.getContext()
+				.setAuthentication(new UsernamePasswordAuthenticationToken(account, null, List.of()));
+
+		Orchid orchid = new Orchid();
+		orchid.setId("orchid");
+		orchid.setName("Orchid");
+		orchid.setPrice(10);
+		orchid.setAvailable(true);
+
+		when(orchidRepository.findAllById(anyCollection())).thenReturn(List.of(orchid));
+		when(orderRepository.insert(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		OrderDto.OrderRequest request = new OrderDto.OrderRequest(List.of(new OrderDetailDto.OrderDetail("orchid", 1)));
+		orderService.add(request);
+		orderService.add(request);
+
+		verify(orchidRepository, times(1)).findAllById(anyCollection());
+	}
+
+	@Test
+	void addOnlyExpiresOrdersThatHoldStock() {
+		Account account = new Account();
+		account.setId("account");
+		SecurityContextHolder.getContext()
+				.setAuthentication(new UsernamePasswordAuthenticationToken(account, null, List.of()));
+
+		Orchid untracked = new Orchid();
+		untracked.setId("untracked");
+		untracked.setName("Untracked");
+		untracked.setPrice(10);
+		untracked.setAvailable(true);
+		Orchid tracked = new Orchid();
+		tracked.setId("tracked");
+		tracked.setName("Tracked");
+		tracked.setPrice(10);
+		tracked.setAvailable(true);
+		tracked.setStockQuantity(100);
+
+		when(orchidRepository.findAllById(anyCollection())).thenReturn(List.of(untracked, tracked));
+		when(orchidRepository.decrementStock(anyString(), anyInt())).thenReturn(true);
+		List<Order> inserted = new ArrayList<>();
+		when(orderRepository.insert(any(Order.class))).thenAnswer(invocation -> {
+			Order order = invocation.getArgument(0);
+			order.setId("order-" + inserted.size());
+			inserted.add(order);
+			return order;
+		});
+		when(orderRepository.findTop500ByOrderStatusAndReservationExpiresAtBefore(eq(Order.OrderStatus.PENDING), any()))
+				.thenAnswer(invocation -> inserted.stream()
+						.filter(order -> order.getReservationExpiresAt() != null
+								&& order.getReservationExpiresAt().isBefore(invocation.getArgument(1)))
+						.toList());
+
+		orderService.add(new OrderDto.OrderRequest(List.of(new OrderDetailDto.OrderDetail("untracked", 1))));
+		orderService.add(new OrderDto.OrderRequest(List.of(new OrderDetailDto.OrderDetail("tracked", 1))));
+
+		assertThat(inserted.get(0).getReservationExpiresAt()).isNull();
+		assertThat(inserted.get(1).getReservationExpiresAt()).isNotNull();
+
+		inserted.get(1).setReservationExpiresAt(LocalDateTime.now().minusMinutes(1));
+		stockReservationService.expireReservations();
+
+		verify(orderRepository, never()).transitionStatus(eq(inserted.get(0).getId()), any(), any(), any());
+		verify(orderRepository).transitionStatus(
+				inserted.get(1).getId(), null, Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED);
+	}
+
+	@Test
+	void payFailsWhenOrderIsNoLongerPending() {
+		Account account = new Account();
+		account.setId("account");
+		SecurityContextHolder.getContext()
+				.setAuthentication(new UsernamePasswordAuthenticationToken(account, null, List.of()));
+
+		Order paidOrder = order("order", LocalDateTime.now(), Order.OrderStatus.COMPLETED, account, List.of());
+		when(orderRepository.transitionStatus("order", "account", Order.OrderStatus.PENDING, Order.OrderStatus.COMPLETED))
+				.thenReturn(null);
+		when(orderRepository.findById("order")).thenReturn(Optional.of(paidOrder));
+
+		assertThatThrownBy(() -> orderService.pay("order"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Order is not in PENDING status");
+		verify(orderRepository, never()).save(any(Order.class));
+	}
+
+	@Test
+	void updateRejectsPendingOrdersOfOtherAccounts() {
+		Account account = new Account();
+		account.setId("account");
+		SecurityContextHolder.getContext()
+				.setAuthentication(new UsernamePasswordAuthenticationToken(account, null, List.of()));
+
+		Account owner = new Account();
+		owner.setId("owner");
+		Orchid orchid = new Orchid();
+		orchid.setId("orchid");
+		orchid.setName("Orchid");
+		orchid.setPrice(10);
+		orchid.setAvailable(true);
+
+		when(orchidRepository.findAllById(anyCollection())).thenReturn(List.of(orchid));
+		when(orderRepository.replacePendingLines(eq("order"), eq("account"), anyList(), anyDouble(), any()))
+				.thenReturn(null);
+		when(orderRepository.findById("order"))
+				.thenReturn(Optional.of(order("order", LocalDateTime.now(), Order.OrderStatus.PENDING, owner, List.of())));
+
+		OrderDto.OrderRequest request = new OrderDto.OrderRequest(List.of(new OrderDetailDto.OrderDetail("orchid", 1)));
+
+		assertThatThrownBy(() -> orderService.update(request, "order"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("You are not authorized to update this order");
+		verify(orderDetailRepository, never()).deleteAllByOrder_Id(anyString());
+	}
+
+	private static Order order(String id, LocalDateTime orderDate, Order.OrderStatus status,
+							   Account account, List<OrderLine> orderLines) {
+		Order order = new Order();
+		order.setId(id);
+		order.setTotalAmount(10);
+		order.setOrderDate(orderDate);
+		order.setOrderStatus(status);
+		order.setAccount(account);
+		order.setOrderLines(orderLines);
+		return order;
+	}
+
+	private static OrderDto.OrderPageRequest pageRequest(int size) {
+		return new OrderDto.OrderPageRequest(null, null, null, null, size);
+	}
+}
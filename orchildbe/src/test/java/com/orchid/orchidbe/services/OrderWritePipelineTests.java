@@ -0,0 +1,132 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.pojos.Order;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderWritePipelineTests {
+
+	MongoTemplate mongoTemplate;
+	BulkOperations bulkOperations;
+	SimpleMeterRegistry meterRegistry;
+	OrderWritePipeline orderWritePipeline;
+	CountDownLatch release;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		bulkOperations = mock(BulkOperations.class);
+		when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Order.class))).thenReturn(bulkOperations);
+		meterRegistry = new SimpleMeterRegistry();
+		release = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		release.countDown();
+		orderWritePipeline.stop();
+	}
+
+	@Test
+	void insertReturnsTheWrittenOrder() {
+		orderWritePipeline = pipeline(Duration.ofSeconds(5));
+		Order order = order("order");
+
+		assertThat(orderWritePipeline.insert(order)).isSameAs(order);
+	}
+
+	@Test
+	void insertTimesOutWithServiceUnavailableWhileStillQueued() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		when(bulkOperations.execute()).thenAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return null;
+		});
+		orderWritePipeline = pipeline(Duration.ofMillis(50));
+		CompletableFuture.runAsync(() -> orderWritePipeline.insert(order("a")));
+		started.await();
+
+		assertThatThrownBy(() -> orderWritePipeline.insert(order("b")))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+		assertThat(meterRegistry.get("orders.write.queue.depth").gauge().value()).isZero();
+	}
+
+	@Test
+	void insertReturnsTheOrderWhenTheClaimedWriteCompletesAfterTheTimeout() {
+		when(bulkOperations.execute()).thenAnswer(invocation -> {
+			Thread.sleep(200);
+			return null;
+		});
+		orderWritePipeline = pipeline(Duration.ofMillis(50));
+		Order order = order("order");
+
+		assertThat(orderWritePipeline.insert(order)).isSameAs(order);
+	}
+
+	@Test
+	void stopFailsInFlightAndQueuedWrites() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		when(bulkOperations.execute()).thenAnswer(invocation -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted bulk write");
+			}
+			return null;
+		});
+		orderWritePipeline = pipeline(Duration.ofSeconds(5));
+
+		CompletableFuture<Order> inFlight = CompletableFuture.supplyAsync(() -> orderWritePipeline.insert(order("a")));
+		started.await();
+		CompletableFuture<Order> queued = CompletableFuture.supplyAsync(() -> orderWritePipeline.insert(order("b")));
+		for (int i = 0; i < 200 && meterRegistry.get("orders.write.queue.depth").gauge().value() < 1; i++) {
+			Thread.sleep(10);
+		}
+
+		orderWritePipeline.stop();
+
+		assertThat(inFlight).failsWithin(Duration.ofSeconds(5))
+				.withThrowableOfType(ExecutionException.class)
+				.withCauseInstanceOf(IllegalStateException.class);
+		assertThat(queued).failsWithin(Duration.ofSeconds(5))
+				.withThrowableOfType(ExecutionException.class)
+				.withCauseInstanceOf(ResponseStatusException.class);
+		assertThatThrownBy(() -> orderWritePipeline.insert(order("c")))
+				.isInstanceOf(ResponseStatusException.class);
+	}
+
+	private OrderWritePipeline pipeline(Duration writeTimeout) {
+		OrderWritePipeline pipeline = new OrderWritePipeline(mongoTemplate, meterRegistry, true,
+				1, Duration.ZERO, 10, Duration.ofMillis(100), writeTimeout, Duration.ofMillis(100));
+		pipeline.start();
+		return pipeline;
+	}
+
+	private static Order order(String id) {
+		Order order = new Order();
+		order.setId(id);
+		return order;
+	}
+}
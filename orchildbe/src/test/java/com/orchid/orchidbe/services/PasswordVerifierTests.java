@@ -0,0 +1,65 @@
+package com.orchid.orchidbe.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordVerifierTests {
+
+	@Test
+	void verifyUpgradesHashesWithAnOutdatedCost() {
+		PasswordVerifier passwordVerifier = passwordVerifier(new BCryptPasswordEncoder(5), new SimpleMeterRegistry());
+		String outdated = new BCryptPasswordEncoder(4).encode("secret");
+
+		PasswordVerifier.Verification verification = passwordVerifier.verify("secret", outdated);
+
+		assertThat(verification.matches()).isTrue();
+		assertThat(verification.upgradedPassword()).startsWith("$2a$05$");
+		assertThat(passwordVerifier.verify("secret", verification.upgradedPassword()).upgradedPassword()).isNull();
+		assertThat(passwordVerifier.verify("wrong", outdated).matches()).isFalse();
+	}
+
+	@Test
+	void verifyRejectsWhenTheQueueIsFull() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+		when(passwordEncoder.matches(any(), any())).thenAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return true;
+		});
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		PasswordVerifier passwordVerifier = passwordVerifier(passwordEncoder, meterRegistry);
+
+		Thread running = Thread.ofVirtual().start(() -> passwordVerifier.verify("secret", "hash"));
+		started.await();
+		Thread queued = Thread.ofVirtual().start(() -> passwordVerifier.verify("secret", "hash"));
+		for (int i = 0; i < 200 && meterRegistry.get("login.password.queue.depth").gauge().value() < 1; i++) {
+			Thread.sleep(10);
+		}
+
+		assertThatThrownBy(() -> passwordVerifier.verify("secret", "hash"))
+				.isInstanceOf(ResponseStatusException.class);
+
+		release.countDown();
+		running.join();
+		queued.join();
+		passwordVerifier.stop();
+	}
+
+	private PasswordVerifier passwordVerifier(PasswordEncoder passwordEncoder, SimpleMeterRegistry meterRegistry) {
+		return new PasswordVerifier(passwordEncoder, meterRegistry, 1, 1, Duration.ofSeconds(5));
+	}
+}
@@ -0,0 +1,56 @@
+package com.orchid.orchidbe.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTests {
+
+	@Test
+	void tryAcquireRejectsOnceTheBucketIsEmpty() {
+		RateLimiter rateLimiter = rateLimiter(true, "2/PT1M");
+
+		assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.LOGIN_EMAIL, "user@orchid.com")).isZero();
+		assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.LOGIN_EMAIL, "user@orchid.com")).isZero();
+
+		long retryAfter = rateLimiter.tryAcquire(RateLimiter.Scope.LOGIN_EMAIL, "user@orchid.com");
+		assertThat(retryAfter).isPositive();
+		assertThat(RateLimiter.retryAfterSeconds(retryAfter)).isBetween(29L, 30L);
+		assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.LOGIN_EMAIL, "other@orchid.com")).isZero();
+		assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.LOGIN_IP, "user@orchid.com")).isZero();
+	}
+
+	@Test
+	void tryAcquireRefillsOverTime() throws InterruptedException {
+		RateLimiter rateLimiter = rateLimiter(true, "1/PT0.05S");
+
+		assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.LOGIN_EMAIL, "user@orchid.com")).isZero();
+		assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.LOGIN_EMAIL, "user@orchid.com")).isPositive();
+
+		Thread.sleep(60);
+
+		assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.LOGIN_EMAIL, "user@orchid.com")).isZero();
+	}
+
+	@Test
+	void tryAcquireAllowsEverythingWhenDisabled() {
+		RateLimiter rateLimiter = rateLimiter(false, "1/PT1M");
+
+		assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.LOGIN_EMAIL, "user@orchid.com")).isZero();
+		assertThat(rateLimiter.tryAcquire(RateLimiter.Scope.LOGIN_EMAIL, "user@orchid.com")).isZero();
+	}
+
+	@Test
+	void parseRejectsMalformedLimits() {
+		assertThat(RateLimiter.Limit.parse("10/PT1S")).isEqualTo(new RateLimiter.Limit(10, Duration.ofSeconds(1)));
+		assertThatThrownBy(() -> RateLimiter.Limit.parse("10")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RateLimiter.Limit.parse("0/PT1S")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private RateLimiter rateLimiter(boolean enabled, String loginPerEmail) {
+		return new RateLimiter(enabled, Duration.ofMinutes(10), "20/PT1M", loginPerEmail, "600/PT1M", "300/PT1M");
+	}
+}
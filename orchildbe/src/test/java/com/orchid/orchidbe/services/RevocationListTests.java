@@ -0,0 +1,65 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.pojos.RevokedToken;
+import com.orchid.orchidbe.repositories.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RevocationListTests {
+
+	RevokedTokenRepository revokedTokenRepository;
+	RevocationList revocationList;
+
+	@BeforeEach
+	void setUp() {
+		revokedTokenRepository = mock(RevokedTokenRepository.class);
+		when(revokedTokenRepository.streamByExpiresAtAfter(any()))
+				.thenReturn(Stream.of(new RevokedToken("loaded", Instant.now().plusSeconds(60), Instant.now())));
+		when(revokedTokenRepository.findByRevokedAtGreaterThanEqual(any()))
+				.thenReturn(List.of(new RevokedToken("polled", Instant.now().plusSeconds(60), Instant.now())));
+		revocationList = new RevocationList(revokedTokenRepository, 1000, 0.01, Duration.ofSeconds(5));
+		revocationList.load();
+	}
+
+	@Test
+	void isRevokedSkipsTheDatabaseForTokensOutsideTheFilter() {
+		assertThat(revocationList.isRevoked("never-revoked")).isFalse();
+		assertThat(revocationList.isRevoked(null)).isFalse();
+
+		verify(revokedTokenRepository, never()).existsById(any());
+	}
+
+	@Test
+	void isRevokedConfirmsFilterHitsAgainstTheDatabase() {
+		when(revokedTokenRepository.existsById("loaded")).thenReturn(true);
+		when(revokedTokenRepository.existsById("polled")).thenReturn(true);
+
+		assertThat(revocationList.isRevoked("loaded")).isTrue();
+		assertThat(revocationList.isRevoked("polled")).isTrue();
+	}
+
+	@Test
+	void revokeReportsWhetherTheTokenWasAlreadyRevoked() {
+		when(revokedTokenRepository.insert(any(RevokedToken.class)))
+				.thenReturn(new RevokedToken())
+				.thenThrow(new DuplicateKeyException("duplicate"));
+		when(revokedTokenRepository.existsById("refresh")).thenReturn(true);
+
+		assertThat(revocationList.revoke("refresh", Instant.now().plusSeconds(60))).isTrue();
+		assertThat(revocationList.revoke("refresh", Instant.now().plusSeconds(60))).isFalse();
+		assertThat(revocationList.isRevoked("refresh")).isTrue();
+	}
+}
@@ -0,0 +1,189 @@
+package com.orchid.orchidbe.services;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.orchid.orchidbe.dto.OrderDto;
+import com.orchid.orchidbe.pojos.Orchid;
+import com.orchid.orchidbe.pojos.Order;
+import com.orchid.orchidbe.pojos.OrderDetail;
+import com.orchid.orchidbe.pojos.OrderLine;
+import com.orchid.orchidbe.pojos.SalesRollup;
+import com.orchid.orchidbe.repositories.OrchidRepository;
+import com.orchid.orchidbe.repositories.OrderDetailRepository;
+import com.orchid.orchidbe.repositories.OrderRepository;
+import com.orchid.orchidbe.repositories.SalesRollupRepository;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SalesRollupServiceTests {
+
+	SalesRollupRepository salesRollupRepository;
+	OrderRepository orderRepository;
+	OrderDetailRepository orderDetailRepository;
+	OrchidRepository orchidRepository;
+	SalesRollupService salesRollupService;
+
+	@BeforeEach
+	void setUp() {
+		salesRollupRepository = mock(SalesRollupRepository.class);
+		orderRepository = mock(OrderRepository.class);
+		orderDetailRepository = mock(OrderDetailRepository.class);
+		orchidRepository = mock(OrchidRepository.class);
+		salesRollupService = new SalesRollupService(
+				salesRollupRepository, orderRepository,
+				new LegacyOrderLines(orderDetailRepository, orchidRepository), mock(OrchidSuggester.class));
+	}
+
+	@Test
+	void recordCountsEachOrderOncePerRollup() {
+		salesRollupService.record(order(
+				new OrderLine("l1", "rose", "Rose", "c1", 10, 2, true),
+				new OrderLine("l2", "lily", "Lily", "c1", 5, 1, true),
+				new OrderLine("l3", "rose", "Rose", "c1", 10, 1, true)));
+		salesRollupService.record(order(
+				new OrderLine("l4", "lily", "Lily", "c2", 5, 4, true)));
+		salesRollupService.flush();
+
+		Map<String, SalesRollup> rollups = flushed().get(0);
+
+		assertThat(rollups.get("2026-10-17"))
+				.extracting(SalesRollup::getScope, SalesRollup::getUnits, SalesRollup::getRevenue,
+						SalesRollup::getOrderCount)
+				.containsExactly(SalesRollup.Scope.DAY, 8L, 55.0, 2L);
+		assertThat(rollups.get("2026-10-17:c1"))
+				.extracting(SalesRollup::getScope, SalesRollup::getUnits, SalesRollup::getOrderCount)
+				.containsExactly(SalesRollup.Scope.CATEGORY, 4L, 1L);
+		assertThat(rollups.get("2026-10-17:rose:c1"))
+				.extracting(SalesRollup::getScope, SalesRollup::getUnits, SalesRollup::getOrderCount)
+				.containsExactly(SalesRollup.Scope.ORCHID, 3L, 1L);
+		assertThat(rollups).hasSize(6);
+	}
+
+	@Test
+	void flushKeepsOnlyTheRollupsThatFailed() {
+		doAnswer(invocation -> {
+			List<SalesRollup> deltas = invocation.getArgument(0);
+			int failed = deltas.indexOf(deltas.stream()
+					.filter(delta -> delta.getScope() == SalesRollup.Scope.DAY)
+					.findFirst()
+					.orElseThrow());
+			throw new BulkOperationException("Bulk write failed", new MongoBulkWriteException(
+					BulkWriteResult.unacknowledged(),
+					List.of(new BulkWriteError(11000, "duplicate", new BsonDocument(), failed)),
+					null, new ServerAddress(), Set.of()));
+		}).doNothing().when(salesRollupRepository).increment(anyList());
+
+		salesRollupService.record(order(new OrderLine("l1", "rose", "Rose", "c1", 10, 2, true)));
+		salesRollupService.flush();
+		salesRollupService.flush();
+		salesRollupService.flush();
+
+		List<Map<String, SalesRollup>> flushes = flushed();
+		assertThat(flushes).hasSize(2);
+		assertThat(flushes.get(0)).hasSize(3);
+		assertThat(flushes.get(1)).containsOnlyKeys("2026-10-17");
+		assertThat(flushes.get(1).get("2026-10-17").getUnits()).isEqualTo(2);
+	}
+
+	@Test
+	void flushKeepsEverythingWhenTheWriteFailsOutright() {
+		doAnswer(invocation -> {
+			throw new IllegalStateException("unavailable");
+		}).doNothing().when(salesRollupRepository).increment(anyList());
+
+		salesRollupService.record(order(new OrderLine("l1", "rose", "Rose", "c1", 10, 2, true)));
+		salesRollupService.flush();
+		salesRollupService.flush();
+
+		assertThat(flushed().get(1)).hasSize(3);
+	}
+
+	@Test
+	void rebuildLoadsLinesOfLegacyOrdersFromOrderDetails() {
+		Order legacy = order();
+		legacy.setId("legacy");
+		legacy.setOrderLines(null);
+		Orchid lily = new Orchid();
+		lily.setId("lily");
+		lily.setName("Lily");
+		lily.setPrice(5);
+
+		when(orderRepository.stream(any(OrderDto.OrderPageRequest.class))).thenReturn(Stream.of(
+				order(new OrderLine("l1", "rose", "Rose", null, 10, 2, true)), legacy));
+		when(orderDetailRepository.findAllByOrder_IdIn(anyCollection()))
+				.thenReturn(List.of(new OrderDetail("d1", 0, 3, lily, legacy)));
+		when(orchidRepository.findAllById(anyCollection())).thenReturn(List.of(lily));
+
+		assertThat(salesRollupService.rebuild()).isEqualTo(2);
+
+		Map<String, SalesRollup> rollups = flushed().get(0);
+		assertThat(rollups.get("2026-10-17"))
+				.extracting(SalesRollup::getUnits, SalesRollup::getRevenue, SalesRollup::getOrderCount)
+				.containsExactly(5L, 35.0, 2L);
+		assertThat(rollups.get("2026-10-17:lily:null"))
+				.extracting(SalesRollup::getUnits, SalesRollup::getRevenue)
+				.containsExactly(3L, 15.0);
+		verify(orderDetailRepository).findAllByOrder_IdIn(List.of("legacy"));
+	}
+
+	@Test
+	void recordLoadsLinesOfLegacyOrdersFromOrderDetails() {
+		Order legacy = order();
+		legacy.setId("legacy");
+		legacy.setOrderLines(null);
+		Orchid lily = new Orchid();
+		lily.setId("lily");
+		lily.setName("Lily");
+
+		when(orderDetailRepository.findAllByOrder_IdIn(anyCollection()))
+				.thenReturn(List.of(new OrderDetail("d1", 5, 3, lily, legacy)));
+		when(orchidRepository.findAllById(anyCollection())).thenReturn(List.of(lily));
+
+		salesRollupService.record(legacy);
+		salesRollupService.flush();
+
+		assertThat(flushed().get(0).get("2026-10-17"))
+				.extracting(SalesRollup::getUnits, SalesRollup::getRevenue, SalesRollup::getOrderCount)
+				.containsExactly(3L, 15.0, 1L);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Map<String, SalesRollup>> flushed() {
+		ArgumentCaptor<List<SalesRollup>> captor = ArgumentCaptor.forClass(List.class);
+		verify(salesRollupRepository, atLeastOnce()).increment(captor.capture());
+		return captor.getAllValues()
+				.stream()
+				.map(deltas -> deltas.stream().collect(Collectors.toMap(SalesRollup::getId, delta -> delta)))
+				.toList();
+	}
+
+	private static Order order(OrderLine... lines) {
+		Order order = new Order();
+		order.setOrderDate(LocalDateTime.of(2026, 10, 17, 12, 0));
+		order.setOrderStatus(Order.OrderStatus.COMPLETED);
+		order.setOrderLines(List.of(lines));
+		return order;
+	}
+}
@@ -0,0 +1,143 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.repositories.OrchidRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StockLedgerTests {
+
+	static final int INITIAL_STOCK = 1000;
+
+	AtomicInteger stock;
+	StockLedger stockLedger;
+
+	@BeforeEach
+	void setUp() {
+		stock = new AtomicInteger(INITIAL_STOCK);
+		OrchidRepository orchidRepository = mock(OrchidRepository.class);
+		when(orchidRepository.decrementStock(eq("orchid"), anyInt())).thenAnswer(invocation -> {
+			int quantity = invocation.getArgument(1);
+			int available;
+			do {
+				available = stock.get();
+				if (available < quantity) {
+					return false;
+				}
+			} while (!stock.compareAndSet(available, available - quantity));
+			return true;
+		});
+		doAnswer(invocation -> stock.addAndGet(invocation.getArgument(1)))
+				.when(orchidRepository).incrementStock(eq("orchid"), anyInt());
+		stockLedger = new StockLedger(orchidRepository, 25);
+	}
+
+	@Test
+	void reserveTakesChunksAndFlushReturnsUnusedUnits() {
+		assertThat(stockLedger.reserve("orchid", 1)).isTrue();
+		assertThat(stock.get()).isEqualTo(INITIAL_STOCK - 25);
+
+		assertThat(stockLedger.reserve("orchid", 4)).isTrue();
+		assertThat(stock.get()).isEqualTo(INITIAL_STOCK - 25);
+
+		stockLedger.release("orchid", 1);
+		stockLedger.flush();
+
+		assertThat(stock.get()).isEqualTo(INITIAL_STOCK - 4);
+	}
+
+	@Test
+	void reserveAfterDiscardKeepsTheRefilledAllotment() {
+		assertThat(stockLedger.reserve("orchid", 1)).isTrue();
+		assertThat(stockLedger.discard("orchid")).isEqualTo(24);
+
+		assertThat(stockLedger.reserve("orchid", 1)).isTrue();
+		stockLedger.flush();
+
+		assertThat(stock.get()).isEqualTo(INITIAL_STOCK - 25 - 1);
+		assertThat(stockLedger.discard("missing")).isZero();
+	}
+
+	@Test
+	void concurrentReserveReleaseAndFlushConserveStock() throws InterruptedException {
+		AtomicLong outstanding = new AtomicLong();
+
+		runConcurrently(outstanding, stockLedger::flush);
+		stockLedger.flush();
+
+		assertThat(stock.get() + outstanding.get()).isEqualTo(INITIAL_STOCK);
+	}
+
+	@Test
+	void concurrentDiscardsOnlyDropTheUnitsTheyReport() throws InterruptedException {
+		AtomicLong outstanding = new AtomicLong();
+		AtomicLong discarded = new AtomicLong();
+
+		runConcurrently(outstanding, () -> discarded.addAndGet(stockLedger.discard("orchid")));
+		stockLedger.flush();
+
+		assertThat(stock.get() + outstanding.get() + discarded.get()).isEqualTo(INITIAL_STOCK);
+	}
+
+	private void runConcurrently(AtomicLong outstanding, Runnable background) throws InterruptedException {
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicBoolean running = new AtomicBoolean(true);
+		List<Thread> workers = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			workers.add(Thread.ofPlatform().start(() -> {
+				await(start);
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int j = 0; j < 5000; j++) {
+					int quantity = random.nextInt(1, 6);
+					if (stockLedger.reserve("orchid", quantity)) {
+						if (random.nextBoolean()) {
+							stockLedger.release("orchid", quantity);
+						} else {
+							outstanding.addAndGet(quantity);
+						}
+					}
+					if (j % 1000 == 999) {
+						long held = outstanding.getAndSet(0);
+						stockLedger.release("orchid", (int) held);
+					}
+				}
+			}));
+		}
+		Thread backgroundThread = Thread.ofPlatform().start(() -> {
+			await(start);
+			while (running.get()) {
+				background.run();
+				Thread.onSpinWait();
+			}
+		});
+
+		start.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		running.set(false);
+		backgroundThread.join();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package com.orchid.orchidbe.services;
+
+import com.orchid.orchidbe.pojos.OrderLine;
+import com.orchid.orchidbe.repositories.OrchidRepository;
+import com.orchid.orchidbe.repositories.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StockReservationServiceTests {
+
+	Map<String, AtomicInteger> stock;
+	StockLedger stockLedger;
+	StockReservationService stockReservationService;
+
+	@BeforeEach
+	void setUp() {
+		stock = new ConcurrentHashMap<>(Map.of("rose", new AtomicInteger(300), "lily", new AtomicInteger(0)));
+		OrchidRepository orchidRepository = mock(OrchidRepository.class);
+		when(orchidRepository.decrementStock(anyString(), anyInt())).thenAnswer(invocation -> {
+			AtomicInteger units = stock.get(invocation.<String>getArgument(0));
+			int quantity = invocation.getArgument(1);
+			int available;
+			do {
+				available = units.get();
+				if (available < quantity) {
+					return false;
+				}
+			} while (!units.compareAndSet(available, available - quantity));
+			return true;
+		});
+		doAnswer(invocation -> stock.get(invocation.<String>getArgument(0)).addAndGet(invocation.getArgument(1)))
+				.when(orchidRepository).incrementStock(anyString(), anyInt());
+		stockLedger = new StockLedger(orchidRepository, 25);
+		stockReservationService = new StockReservationService(
+				stockLedger, mock(OrderRepository.class), Duration.ofMinutes(15));
+	}
+
+	@Test
+	void reserveReleasesEarlierLinesWhenALaterLineIsShort() {
+		List<OrderLine> lines = List.of(line("rose", 2), line("lily", 1));
+
+		assertThatThrownBy(() -> stockReservationService.reserve(lines))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Not enough stock for orchid: lily");
+		stockLedger.flush();
+
+		assertThat(stock.get("rose").get()).isEqualTo(300);
+		assertThat(stock.get("lily").get()).isZero();
+	}
+
+	@Test
+	void expiresAtOnlyForOrdersHoldingStock() {
+		OrderLine untracked = new OrderLine(null, "fern", "fern", "category", 10, 1, false);
+
+		assertThat(stockReservationService.expiresAt(List.of(untracked))).isNull();
+		assertThat(stockReservationService.expiresAt(List.of(untracked, line("rose", 1))))
+				.isAfter(LocalDateTime.now().plusMinutes(14));
+	}
+
+	@Test
+	void concurrentReservationsConserveStock() throws InterruptedException {
+		stock.get("lily").set(300);
+		Map<String, AtomicInteger> outstanding = Map.of("rose", new AtomicInteger(), "lily", new AtomicInteger());
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicBoolean running = new AtomicBoolean(true);
+
+		List<Thread> workers = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			workers.add(Thread.ofPlatform().start(() -> {
+				await(start);
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int j = 0; j < 3000; j++) {
+					List<OrderLine> lines = List.of(
+							line("rose", random.nextInt(1, 5)), line("lily", random.nextInt(1, 5)));
+					try {
+						stockReservationService.reserve(lines);
+					} catch (IllegalArgumentException e) {
+						continue;
+					}
+					if (random.nextInt(4) == 0) {
+						lines.forEach(line -> outstanding.get(line.getOrchidId()).addAndGet(line.getQuantity()));
+					} else {
+						stockReservationService.release(lines);
+					}
+				}
+			}));
+		}
+		Thread flusher = Thread.ofPlatform().start(() -> {
+			await(start);
+			while (running.get()) {
+				stockLedger.flush();
+				Thread.onSpinWait();
+			}
+		});
+
+		start.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		running.set(false);
+		flusher.join();
+		stockLedger.flush();
+
+		assertThat(stock.get("rose").get() + outstanding.get("rose").get()).isEqualTo(300);
+		assertThat(stock.get("lily").get() + outstanding.get("lily").get()).isEqualTo(300);
+	}
+
+	private static OrderLine line(String orchidId, int quantity) {
+		return new OrderLine(null, orchidId, orchidId, "category", 10, quantity, true);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}